@@ -1,15 +1,16 @@
 package ru.practicum.shareit.booking;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerClientProperties;
 
 import java.util.Map;
 
@@ -18,12 +19,17 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(ServerClientProperties properties,
+                         ClientHttpRequestFactory serverRequestFactory,
+                         RestTemplateBuilder builder,
+                         MeterRegistry meterRegistry) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(properties.url() + API_PREFIX))
+                        .requestFactory(() -> serverRequestFactory)
+                        .build(),
+                properties,
+                meterRegistry
         );
     }
 
@@ -31,23 +37,14 @@ public class BookingClient extends BaseClient {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> getBookingsForOwner(long userId, BookingState state) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name()
-        );
-        return get("/owner?state={state}", userId, parameters);
+    public ResponseEntity<Object> getBookingsForOwner(long userId, BookingState state, int from, int size, String after) {
+        return getPage("/owner", userId, Map.of("state", state.name()), from, size, after);
     }
 
-    public ResponseEntity<Object> getBookings(long userId, BookingState state, int from, int size) {
-        Map<String, Object> parameters = Map.of(
-                "state", state.name(),
-                "from", from,
-                "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+    public ResponseEntity<Object> getBookings(long userId, BookingState state, int from, int size, String after) {
+        return getPage("", userId, Map.of("state", state.name()), from, size, after);
     }
 
-
     public ResponseEntity<Object> createBooking(long userId, BookingDto request) {
         return post("", userId, request);
     }
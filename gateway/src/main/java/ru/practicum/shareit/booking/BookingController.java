@@ -37,11 +37,12 @@ public class BookingController {
             @RequestHeader(X_SHARER_USER_ID) Long userId,
             @RequestParam(name = "state", defaultValue = "all") String stateParam,
             @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
-            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size) {
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "after", required = false) String after) {
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        log.info("Gateway received: Get bookings with state={}, userId={}, from={}, size={}", stateParam, userId, from, size);
-        return bookingClient.getBookings(userId, state, from, size);
+        log.info("Gateway received: Get bookings with state={}, userId={}, from={}, size={}, after={}", stateParam, userId, from, size, after);
+        return bookingClient.getBookings(userId, state, from, size, after);
     }
 
     @PostMapping
@@ -78,10 +79,13 @@ public class BookingController {
     @GetMapping("/owner")
     public ResponseEntity<Object> getBookingsForOwner(
             @NotNull @Positive @RequestHeader(X_SHARER_USER_ID) Long userId,
-            @RequestParam(name = "state", defaultValue = "all") String stateParam) {
-        log.info("Gateway received: Get booking with state={} for user with id={}", stateParam, userId);
+            @RequestParam(name = "state", defaultValue = "all") String stateParam,
+            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "after", required = false) String after) {
+        log.info("Gateway received: Get booking with state={} for user with id={}, from={}, size={}, after={}", stateParam, userId, from, size, after);
         BookingState state = BookingState.from(stateParam)
                 .orElseThrow(() -> new IllegalArgumentException("Unknown state: " + stateParam));
-        return bookingClient.getBookingsForOwner(userId, state);
+        return bookingClient.getBookingsForOwner(userId, state, from, size, after);
     }
 }
\ No newline at end of file
@@ -1,18 +1,62 @@
 package ru.practicum.shareit.client;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
 import org.springframework.lang.Nullable;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 public class BaseClient {
+    private static final List<String> PASSTHROUGH_HEADERS = List.of(HttpHeaders.CONTENT_TYPE, HttpHeaders.CONTENT_LENGTH,
+            HttpHeaders.ETAG, HttpHeaders.CACHE_CONTROL, HttpHeaders.LAST_MODIFIED, HttpHeaders.LOCATION);
+
     protected final RestTemplate rest;
+    private final boolean passthrough;
+    private final boolean coalesceGets;
+    private final Map<URI, Flight> inFlight = new ConcurrentHashMap<>();
+    private final Counter coalesced;
+    @Nullable
+    private final Cache<URI, ResponseEntity<Object>> responses;
+    private final Counter revalidated;
+    private final Counter refetched;
+
+    public BaseClient(RestTemplate rest, ServerClientProperties properties, MeterRegistry meterRegistry) {
+        this(rest, properties.passthrough(), properties.coalesceGets(), properties.responseCache().maxSize(),
+                meterRegistry);
+    }
 
-    public BaseClient(RestTemplate rest) {
+    public BaseClient(RestTemplate rest, boolean passthrough, boolean coalesceGets, int responseCacheSize,
+                      MeterRegistry meterRegistry) {
         this.rest = rest;
+        this.passthrough = passthrough;
+        this.coalesceGets = coalesceGets;
+        this.responses = responseCacheSize > 0 ? Caffeine.newBuilder().maximumSize(responseCacheSize).build() : null;
+        String client = getClass().getSimpleName();
+        this.coalesced = meterRegistry.counter("shareit.gateway.requests.coalesced", "client", client);
+        this.revalidated = meterRegistry.counter("shareit.gateway.response-cache", "client", client, "result", "hit");
+        this.refetched = meterRegistry.counter("shareit.gateway.response-cache", "client", client, "result", "miss");
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -31,6 +75,24 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
     }
 
+    /**
+     * Requests one page of a listing: by the {@code after} cursor when the caller sent one, otherwise by offset.
+     */
+    protected ResponseEntity<Object> getPage(String path, Long userId, Map<String, Object> filters, int from, int size,
+                                             @Nullable Object after) {
+        Map<String, Object> parameters = new LinkedHashMap<>(filters);
+        if (after == null) {
+            parameters.put("from", from);
+        } else {
+            parameters.put("after", after);
+        }
+        parameters.put("size", size);
+        String query = parameters.keySet().stream()
+                .map(name -> name + "={" + name + "}")
+                .collect(Collectors.joining("&", path + "?", ""));
+        return get(query, userId, parameters);
+    }
+
     protected <T> ResponseEntity<Object> post(String path, T body) {
         return post(path, null, null, body);
     }
@@ -43,6 +105,13 @@ public class BaseClient {
         return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
     }
 
+    /**
+     * Streams the body to the server as it is read, so a large upload is never held in gateway memory.
+     */
+    protected ResponseEntity<Object> post(String path, MediaType contentType, InputStream body) {
+        return makeAndSendRequest(HttpMethod.POST, path, null, null, new InputStreamResource(body), contentType);
+    }
+
     protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
@@ -80,24 +149,150 @@ public class BaseClient {
     }
 
     private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+        return makeAndSendRequest(method, path, userId, parameters, body, MediaType.APPLICATION_JSON);
+    }
+
+    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body, MediaType contentType) {
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId, contentType));
+        URI uri = parameters != null && !parameters.isEmpty()
+                ? rest.getUriTemplateHandler().expand(path, parameters)
+                : rest.getUriTemplateHandler().expand(path);
+        if (method == HttpMethod.GET && userId == null) {
+            Supplier<ResponseEntity<Object>> call = responses != null
+                    ? () -> sendConditional(uri, requestEntity)
+                    : () -> send(method, uri, requestEntity);
+            return coalesceGets ? coalesce(uri, call) : call.get();
+        }
+        return send(method, uri, requestEntity);
+    }
+
+    /**
+     * Revalidates the cached response for the URI with If-None-Match, so an unchanged resource costs the server a
+     * version lookup and comes back as a bodiless 304. Only responses carrying an ETag are kept.
+     */
+    private ResponseEntity<Object> sendConditional(URI uri, HttpEntity<?> requestEntity) {
+        ResponseEntity<Object> cached = responses.getIfPresent(uri);
+        HttpEntity<?> conditional = requestEntity;
+        if (cached != null) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(requestEntity.getHeaders());
+            headers.setIfNoneMatch(cached.getHeaders().getETag());
+            conditional = new HttpEntity<>(requestEntity.getBody(), headers);
+        }
+        ResponseEntity<Object> response = send(HttpMethod.GET, uri, conditional);
+        if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            revalidated.increment();
+            return cached;
+        }
+        refetched.increment();
+        if (response.getStatusCode().is2xxSuccessful() && response.getHeaders().getETag() != null) {
+            response = buffer(response);
+            responses.put(uri, response);
+        } else {
+            responses.invalidate(uri);
+        }
+        return response;
+    }
+
+    private ResponseEntity<Object> send(HttpMethod method, URI uri, HttpEntity<?> requestEntity) {
+        if (passthrough) {
+            return passThrough(method, uri, requestEntity);
+        }
 
         ResponseEntity<Object> shareitServerResponse;
         try {
-            if (parameters != null && !parameters.isEmpty()) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
+            shareitServerResponse = rest.exchange(uri, method, requestEntity, Object.class);
         } catch (HttpStatusCodeException e) {
             return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
         }
         return prepareGatewayResponse(shareitServerResponse);
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
+    /**
+     * Lets concurrent identical requests share one upstream call: the first caller sends it and the others wait for
+     * its response. The streamed body is buffered only when someone joined, so that every caller writes its own copy;
+     * a caller left alone gets the stream unread.
+     */
+    private ResponseEntity<Object> coalesce(URI uri, Supplier<ResponseEntity<Object>> call) {
+        while (true) {
+            Flight flight = new Flight();
+            Flight leader = inFlight.putIfAbsent(uri, flight);
+            if (leader == null) {
+                return lead(uri, flight, call);
+            }
+            if (leader.join()) {
+                coalesced.increment();
+                return leader.await();
+            }
+            inFlight.remove(uri, leader);
+        }
+    }
+
+    private ResponseEntity<Object> lead(URI uri, Flight flight, Supplier<ResponseEntity<Object>> call) {
+        try {
+            ResponseEntity<Object> response = call.get();
+            if (flight.close()) {
+                return response;
+            }
+            response = buffer(response);
+            flight.response.complete(response);
+            return response;
+        } catch (Throwable e) {
+            flight.response.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(uri, flight);
+        }
+    }
+
+    private static ResponseEntity<Object> buffer(ResponseEntity<Object> response) {
+        if (!(response.getBody() instanceof InputStreamResource resource)) {
+            return response;
+        }
+        try (InputStream body = resource.getInputStream()) {
+            return ResponseEntity.status(response.getStatusCode())
+                    .headers(response.getHeaders())
+                    .body(new ByteArrayResource(body.readAllBytes()));
+        } catch (IOException e) {
+            throw new ResourceAccessException("I/O error while reading response: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Sends the request and hands the server's response body to the client as an unread stream, so it is copied
+     * byte for byte instead of being parsed into a map graph and serialized again. The pooled connection is
+     * released when the stream is closed after the body has been written.
+     */
+    private ResponseEntity<Object> passThrough(HttpMethod method, URI uri, HttpEntity<?> requestEntity) {
+        ClientHttpResponse response = null;
+        try {
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, method);
+            rest.httpEntityCallback(requestEntity).doWithRequest(request);
+            response = request.execute();
+            HttpHeaders headers = new HttpHeaders();
+            for (String name : PASSTHROUGH_HEADERS) {
+                List<String> values = response.getHeaders().get(name);
+                if (values != null) {
+                    headers.put(name, values);
+                }
+            }
+            ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode()).headers(headers);
+            if (headers.getContentType() == null || headers.getContentLength() == 0) {
+                response.close();
+                return responseBuilder.build();
+            }
+            return responseBuilder.body(new InputStreamResource(new ResponseBodyStream(response)));
+        } catch (IOException e) {
+            if (response != null) {
+                response.close();
+            }
+            throw new ResourceAccessException("I/O error on " + method + " request for \"" + uri + "\": " + e.getMessage(), e);
+        }
+    }
+
+    private HttpHeaders defaultHeaders(Long userId, MediaType contentType) {
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentType(contentType);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
@@ -118,4 +313,62 @@ public class BaseClient {
 
         return responseBuilder.build();
     }
-}
\ No newline at end of file
+
+    /**
+     * An upstream call in progress. Followers may join until the leader has its response; the leader then closes the
+     * flight, and if nobody joined, later callers start a flight of their own.
+     */
+    private static final class Flight {
+        private static final int CLOSED = -1;
+
+        private final CompletableFuture<ResponseEntity<Object>> response = new CompletableFuture<>();
+        private final AtomicInteger followers = new AtomicInteger();
+
+        boolean join() {
+            int current = followers.get();
+            while (current != CLOSED) {
+                if (followers.compareAndSet(current, current + 1)) {
+                    return true;
+                }
+                current = followers.get();
+            }
+            return false;
+        }
+
+        boolean close() {
+            return followers.compareAndSet(0, CLOSED);
+        }
+
+        ResponseEntity<Object> await() {
+            try {
+                return response.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                if (e.getCause() instanceof Error cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+
+    private static class ResponseBodyStream extends FilterInputStream {
+        private final ClientHttpResponse response;
+
+        ResponseBodyStream(ClientHttpResponse response) throws IOException {
+            super(response.getBody());
+            this.response = response;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                response.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Settings of the gateway's connection to the ShareIt server, bound once from {@code shareit-server.*}.
+ */
+@ConfigurationProperties("shareit-server")
+public record ServerClientProperties(
+        String url,
+        @DefaultValue("true") boolean passthrough,
+        @DefaultValue("true") boolean coalesceGets,
+        @DefaultValue ResponseCache responseCache,
+        @DefaultValue("200") int maxConnections,
+        @DefaultValue("200") int maxConnectionsPerRoute,
+        @DefaultValue("2s") Duration connectTimeout,
+        @DefaultValue("30s") Duration readTimeout,
+        @DefaultValue("5s") Duration connectionRequestTimeout,
+        @DefaultValue("30s") Duration idleEviction,
+        @DefaultValue("5m") Duration connectionTimeToLive,
+        @DefaultValue("2s") Duration validateAfterInactivity
+) {
+    public record ResponseCache(@DefaultValue("10000") int maxSize) {
+    }
+}
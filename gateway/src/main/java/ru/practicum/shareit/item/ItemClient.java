@@ -1,15 +1,17 @@
 package ru.practicum.shareit.item;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerClientProperties;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSort;
 
 import java.util.Map;
 
@@ -18,12 +20,17 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(ServerClientProperties properties,
+                      ClientHttpRequestFactory serverRequestFactory,
+                      RestTemplateBuilder builder,
+                      MeterRegistry meterRegistry) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(properties.url() + API_PREFIX))
+                        .requestFactory(() -> serverRequestFactory)
+                        .build(),
+                properties,
+                meterRegistry
         );
     }
 
@@ -31,8 +38,8 @@ public class ItemClient extends BaseClient {
         return get("/" + itemId);
     }
 
-    public ResponseEntity<Object> getItemsForUser(long userId) {
-        return get("", userId);
+    public ResponseEntity<Object> getItemsForUser(long userId, ItemSort sort) {
+        return get("?sort={sort}", userId, Map.of("sort", sort.name()));
     }
 
     public ResponseEntity<Object> createItem(long userId, ItemDto request) {
@@ -47,11 +54,16 @@ public class ItemClient extends BaseClient {
         return patch("/" + itemId, userId);
     }
 
-    public ResponseEntity<Object> getBySearch(String text) {
+    public ResponseEntity<Object> getBySearch(String text, int from, int size, String after, ItemSort sort) {
+        return getPage("/search", null, Map.of("text", text, "sort", sort.name()), from, size, after);
+    }
+
+    public ResponseEntity<Object> getSuggestions(String prefix, int size) {
         Map<String, Object> parameters = Map.of(
-                "text", text
+                "prefix", prefix,
+                "size", size
         );
-        return get("/search?text={text}", parameters);
+        return get("/suggest?prefix={prefix}&size={size}", parameters);
     }
 
     public ResponseEntity<Object> createComment(long itemId, long bookerId, CommentDto request) {
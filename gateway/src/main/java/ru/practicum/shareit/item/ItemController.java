@@ -1,8 +1,10 @@
 package ru.practicum.shareit.item;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -10,6 +12,7 @@ import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemSort;
 
 @Controller
 @RequestMapping("/items")
@@ -27,9 +30,12 @@ public class ItemController {
     }
 
     @GetMapping
-    public ResponseEntity<Object> getItemsForUser(@NotNull @Positive @RequestHeader(X_SHARER_USER_ID) Long userId) {
-        log.info("Gateway received: Get items for user with id={}", userId);
-        return itemClient.getItemsForUser(userId);
+    public ResponseEntity<Object> getItemsForUser(@NotNull @Positive @RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                  @RequestParam(name = "sort", defaultValue = "default") String sortParam) {
+        ItemSort sort = ItemSort.from(sortParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown sort: " + sortParam));
+        log.info("Gateway received: Get items for user with id={}, sort={}", userId, sort);
+        return itemClient.getItemsForUser(userId, sort);
     }
 
     @PostMapping
@@ -55,11 +61,26 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItem(@RequestParam("text") String text) {
+    public ResponseEntity<Object> searchItem(@RequestParam("text") String text,
+                                             @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                             @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                             @RequestParam(name = "after", required = false) String after,
+                                             @RequestParam(name = "sort", defaultValue = "default") String sortParam) {
+        ItemSort sort = ItemSort.from(sortParam)
+                .orElseThrow(() -> new IllegalArgumentException("Unknown sort: " + sortParam));
         if (text.isBlank())
             return ResponseEntity.noContent().build();
-        log.info("Gateway received: Get item by text={}", text);
-        return itemClient.getBySearch(text.toLowerCase());
+        log.info("Gateway received: Get item by text={}, from={}, size={}, after={}, sort={}", text, from, size, after, sort);
+        return itemClient.getBySearch(text.toLowerCase(), from, size, after, sort);
+    }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<Object> suggestItemNames(@RequestParam("prefix") String prefix,
+                                                   @Positive @Max(100) @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        if (prefix.isBlank())
+            return ResponseEntity.noContent().build();
+        log.info("Gateway received: Get item name suggestions for prefix={}, size={}", prefix, size);
+        return itemClient.getSuggestions(prefix, size);
     }
 
     @PostMapping("/{itemId}/comment")
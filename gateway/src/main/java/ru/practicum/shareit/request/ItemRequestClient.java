@@ -1,26 +1,34 @@
 package ru.practicum.shareit.request;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerClientProperties;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 
+import java.util.Map;
+
 @Service
 public class ItemRequestClient extends BaseClient {
     private static final String API_PREFIX = "/requests";
 
     @Autowired
-    public ItemRequestClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemRequestClient(ServerClientProperties properties,
+                             ClientHttpRequestFactory serverRequestFactory,
+                             RestTemplateBuilder builder,
+                             MeterRegistry meterRegistry) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(properties.url() + API_PREFIX))
+                        .requestFactory(() -> serverRequestFactory)
+                        .build(),
+                properties,
+                meterRegistry
         );
     }
 
@@ -44,7 +52,7 @@ public class ItemRequestClient extends BaseClient {
         return delete("/" + itemRequestId, userId);
     }
 
-    public ResponseEntity<Object> getItemRequestForOther(long userId) {
-        return get("/all", userId);
+    public ResponseEntity<Object> getItemRequestForOther(long userId, int from, int size, String after) {
+        return getPage("/all", userId, Map.of(), from, size, after);
     }
-}
\ No newline at end of file
+}
@@ -3,6 +3,7 @@ package ru.practicum.shareit.request;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -55,8 +56,11 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getItemRequestForOther(@NotNull @Positive @RequestHeader(X_SHARER_USER_ID) Long userId) {
-        log.info("Gate received: Get all other user's itemRequests for user with id {}", userId);
-        return itemRequestClient.getItemRequestForOther(userId);
+    public ResponseEntity<Object> getItemRequestForOther(@NotNull @Positive @RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                         @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                         @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                         @RequestParam(name = "after", required = false) String after) {
+        log.info("Gate received: Get all other user's itemRequests for user with id {}, from {}, size {}, after {}", userId, from, size, after);
+        return itemRequestClient.getItemRequestForOther(userId, from, size, after);
     }
 }
\ No newline at end of file
@@ -1,26 +1,35 @@
 package ru.practicum.shareit.user;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerClientProperties;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.io.InputStream;
+
 @Service
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
     @Autowired
-    public UserClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public UserClient(ServerClientProperties properties,
+                      ClientHttpRequestFactory serverRequestFactory,
+                      RestTemplateBuilder builder,
+                      MeterRegistry meterRegistry) {
         super(
                 builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory())
-                        .build()
+                        .uriTemplateHandler(new DefaultUriBuilderFactory(properties.url() + API_PREFIX))
+                        .requestFactory(() -> serverRequestFactory)
+                        .build(),
+                properties,
+                meterRegistry
         );
     }
 
@@ -32,6 +41,10 @@ public class UserClient extends BaseClient {
         return post("", request);
     }
 
+    public ResponseEntity<Object> importUsers(MediaType contentType, InputStream body) {
+        return post("/import", contentType, body);
+    }
+
     public ResponseEntity<Object> patchUser(Long userId, UserDto request) {
         return patch("/" + userId, request);
     }
@@ -3,12 +3,16 @@ package ru.practicum.shareit.user;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.user.dto.UserDto;
 
+import java.io.InputStream;
+
 @Controller
 @RequestMapping(path = "/users")
 @RequiredArgsConstructor
@@ -29,6 +33,13 @@ public class UserController {
         return userClient.createUser(request);
     }
 
+    @PostMapping(path = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<Object> importUsers(@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                              InputStream body) {
+        log.info("Gate received: Import users");
+        return userClient.importUsers(contentType, body);
+    }
+
     @PatchMapping("/{userId}")
     public ResponseEntity<Object> patch(@PathVariable Long userId, @RequestBody UserDto request) {
         log.info("Gate received: Patch user {} with id {}", request, userId);
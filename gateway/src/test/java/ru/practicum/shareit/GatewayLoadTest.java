@@ -0,0 +1,131 @@
+package ru.practicum.shareit;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Compares the blocking gateway with the virtual thread mode against a stub server that answers after a fixed delay,
+ * with more concurrent clients than the gateway has request threads. Run with {@code -DloadTest=true}; the measured
+ * throughput and p99 latency of both modes are printed to the test output.
+ */
+@EnabledIfSystemProperty(named = "loadTest", matches = "true")
+public class GatewayLoadTest {
+    private static final int SERVER_DELAY_MILLIS = 200;
+    private static final int REQUEST_THREADS = 20;
+    private static final int CONCURRENCY = 200;
+    private static final int REQUESTS = 600;
+    private static final byte[] USER = "{\"id\":1,\"name\":\"user\",\"email\":\"user@mail.ru\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), CONCURRENCY);
+        server.createContext("/users", exchange -> {
+            try {
+                Thread.sleep(SERVER_DELAY_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, USER.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(USER);
+            }
+        });
+        server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    void virtualThreadsMustOutperformBlockingRequestThreads() throws Exception {
+        Result blocking = run(false);
+        Result virtual = run(true);
+
+        String report = "blocking: " + blocking + ", virtual threads: " + virtual;
+        System.out.println("Gateway load test: " + report);
+        assertThat(report, virtual.throughput(), greaterThan(blocking.throughput() * 1.5));
+        assertThat(report, virtual.p99Millis(), lessThan(blocking.p99Millis()));
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext gateway = new SpringApplicationBuilder(ShareItGateway.class).run(
+                "--server.port=0",
+                "--server.tomcat.threads.max=" + REQUEST_THREADS,
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--shareit-server.url=http://localhost:" + server.getAddress().getPort(),
+                "--shareit-server.coalesce-gets=false",
+                "--shareit-server.response-cache.max-size=0",
+                "--logging.level.root=WARN",
+                "--logging.level.org.springframework.web.client.RestTemplate=WARN");
+             HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+             ExecutorService callers = Executors.newFixedThreadPool(CONCURRENCY)) {
+            int port = ((WebServerApplicationContext) gateway).getWebServer().getPort();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users/1")).build();
+            send(client, callers, request, CONCURRENCY);
+
+            long start = System.nanoTime();
+            List<Long> latencies = send(client, callers, request, REQUESTS);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            Collections.sort(latencies);
+            return new Result(REQUESTS / seconds, latencies.get((int) Math.ceil(latencies.size() * 0.99) - 1) / 1_000_000);
+        }
+    }
+
+    private List<Long> send(HttpClient client, ExecutorService callers, HttpRequest request, int count) throws Exception {
+        List<Future<Long>> futures = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            futures.add(callers.submit(() -> {
+                long start = System.nanoTime();
+                HttpResponse<byte[]> response = client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+                if (response.statusCode() != 200) {
+                    throw new IllegalStateException("Unexpected status " + response.statusCode());
+                }
+                return System.nanoTime() - start;
+            }));
+        }
+        List<Long> latencies = new ArrayList<>(count);
+        for (Future<Long> future : futures) {
+            latencies.add(future.get());
+        }
+        return latencies;
+    }
+
+    private record Result(double throughput, long p99Millis) {
+        @Override
+        public String toString() {
+            return String.format("%.0f req/s, p99 %d ms", throughput, p99Millis);
+        }
+    }
+}
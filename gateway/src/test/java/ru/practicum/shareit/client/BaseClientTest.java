@@ -0,0 +1,359 @@
+package ru.practicum.shareit.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.headerDoesNotExist;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class BaseClientTest {
+    private static final String SERVER_URL = "http://localhost:9090/items";
+    private static final int ITERATIONS = 50;
+    private static final int CALLERS = 8;
+    private static final byte[] LISTING = IntStream.range(0, 2000)
+            .mapToObj(i -> "{\"id\":" + i + ",\"name\":\"item " + i + "\",\"description\":\"description " + i +
+                    "\",\"available\":true,\"owner\":{\"id\":1,\"name\":\"owner\",\"email\":\"owner@mail.ru\"}," +
+                    "\"lastBooking\":null,\"nextBooking\":null,\"comments\":[],\"rentCount\":0,\"commentCount\":0}")
+            .collect(Collectors.joining(",", "[", "]"))
+            .getBytes(StandardCharsets.UTF_8);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void mustPassResponseBytesAndHeadersThrough() throws IOException {
+        RestTemplate rest = createRestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(requestTo(SERVER_URL + "?text=drill"))
+                .andExpect(method(HttpMethod.GET))
+                .andExpect(header("X-Sharer-User-Id", "1"))
+                .andRespond(withSuccess(LISTING, MediaType.APPLICATION_JSON).header(HttpHeaders.ETAG, "\"v1\""));
+
+        ResponseEntity<Object> response = new BaseClient(rest, true, false, 0, meterRegistry) {
+        }.get("?text={text}", 1L, Map.of("text", "drill"));
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getHeaders().getContentType(), equalTo(MediaType.APPLICATION_JSON));
+        assertThat(response.getHeaders().getETag(), equalTo("\"v1\""));
+        assertThat(response.getBody(), instanceOf(Resource.class));
+        try (InputStream body = ((Resource) response.getBody()).getInputStream()) {
+            assertThat(body.readAllBytes(), equalTo(LISTING));
+        }
+        server.verify();
+    }
+
+    @Test
+    void mustPassErrorStatusThrough() {
+        RestTemplate rest = createRestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body("{\"error\":\"not found\"}"));
+
+        ResponseEntity<Object> response = new BaseClient(rest, true, false, 0, meterRegistry) {
+        }.get("/1");
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+        assertThat(response.getBody(), instanceOf(Resource.class));
+    }
+
+    @Test
+    void mustOmitBodyWhenServerSendsNone() {
+        RestTemplate rest = createRestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(requestTo(SERVER_URL + "/1")).andRespond(withSuccess());
+
+        ResponseEntity<Object> response = new BaseClient(rest, true, false, 0, meterRegistry) {
+        }.delete("/1");
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.hasBody(), equalTo(false));
+    }
+
+    @Test
+    void mustStreamUploadedBodyToServer() {
+        byte[] upload = "{\"name\":\"user\",\"email\":\"user@mail.ru\"}\n".getBytes(StandardCharsets.UTF_8);
+        RestTemplate rest = createRestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(requestTo(SERVER_URL + "/import"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().bytes(upload))
+                .andRespond(withSuccess());
+
+        ResponseEntity<Object> response = new BaseClient(rest, true, false, 0, meterRegistry) {
+        }.post("/import", MediaType.APPLICATION_NDJSON, new ByteArrayInputStream(upload));
+
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        server.verify();
+    }
+
+    @Test
+    void mustShareOneUpstreamCallBetweenConcurrentIdenticalGets() throws Exception {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CountDownLatch callersStarted = new CountDownLatch(CALLERS);
+        RestTemplate rest = createRestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(ExpectedCount.manyTimes(), requestTo(SERVER_URL + "/1"))
+                .andRespond(request -> {
+                    upstreamCalls.incrementAndGet();
+                    awaitQuietly(callersStarted);
+                    sleepQuietly(200);
+                    return withSuccess(LISTING, MediaType.APPLICATION_JSON).createResponse(request);
+                });
+        BaseClient client = new BaseClient(rest, true, true, 0, meterRegistry) {
+        };
+
+        List<byte[]> bodies = callConcurrently(callersStarted, () -> client.get("/1"));
+
+        assertThat(upstreamCalls.get(), equalTo(1));
+        bodies.forEach(body -> assertThat(body, equalTo(LISTING)));
+        assertThat(meterRegistry.get("shareit.gateway.requests.coalesced").counter().count(), equalTo(CALLERS - 1.0));
+    }
+
+    @Test
+    void mustKeepStreamingWhenNoCallerJoined() throws IOException {
+        RestTemplate rest = createRestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(requestTo(SERVER_URL + "/1")).andRespond(withSuccess(LISTING, MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> response = new BaseClient(rest, true, true, 0, meterRegistry) {
+        }.get("/1");
+
+        assertThat(response.getBody(), instanceOf(InputStreamResource.class));
+        try (InputStream body = ((Resource) response.getBody()).getInputStream()) {
+            assertThat(body.readAllBytes(), equalTo(LISTING));
+        }
+    }
+
+    @Test
+    void mustReleaseFollowersWhenLeaderFailsWithError() throws Exception {
+        CountDownLatch callersStarted = new CountDownLatch(CALLERS);
+        RestTemplate rest = createRestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(ExpectedCount.manyTimes(), requestTo(SERVER_URL + "/1"))
+                .andRespond(request -> {
+                    awaitQuietly(callersStarted);
+                    sleepQuietly(200);
+                    throw new StackOverflowError("upstream");
+                });
+        BaseClient client = new BaseClient(rest, true, true, 0, meterRegistry) {
+        };
+
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<ResponseEntity<Object>>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(callers.submit(() -> {
+                    callersStarted.countDown();
+                    return client.get("/1");
+                }));
+            }
+            for (Future<ResponseEntity<Object>> future : futures) {
+                ExecutionException thrown = assertThrows(ExecutionException.class,
+                        () -> future.get(10, TimeUnit.SECONDS));
+                assertThat(thrown.getCause(), instanceOf(StackOverflowError.class));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void mustNotCoalesceUserSpecificGets() throws Exception {
+        AtomicInteger upstreamCalls = new AtomicInteger();
+        CountDownLatch callersStarted = new CountDownLatch(CALLERS);
+        CountDownLatch upstreamReached = new CountDownLatch(CALLERS);
+        RestTemplate rest = createRestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(ExpectedCount.manyTimes(), requestTo(SERVER_URL))
+                .andRespond(request -> {
+                    upstreamCalls.incrementAndGet();
+                    upstreamReached.countDown();
+                    awaitQuietly(upstreamReached);
+                    return withSuccess(LISTING, MediaType.APPLICATION_JSON).createResponse(request);
+                });
+        BaseClient client = new BaseClient(rest, true, true, 0, meterRegistry) {
+        };
+
+        callConcurrently(callersStarted, () -> client.get("", 1L));
+
+        assertThat(upstreamCalls.get(), equalTo(CALLERS));
+    }
+
+    @Test
+    void mustServeCachedResponseWhenServerRevalidatesIt() throws IOException {
+        RestTemplate rest = createRestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"3\"");
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withSuccess(LISTING, MediaType.APPLICATION_JSON).headers(headers));
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andRespond(withStatus(HttpStatus.NOT_MODIFIED).headers(headers));
+        BaseClient client = new BaseClient(rest, true, false, 100, meterRegistry) {
+        };
+
+        client.get("/1");
+        ResponseEntity<Object> response = client.get("/1");
+
+        server.verify();
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.OK));
+        assertThat(response.getHeaders().getETag(), equalTo("\"3\""));
+        try (InputStream body = ((Resource) response.getBody()).getInputStream()) {
+            assertThat(body.readAllBytes(), equalTo(LISTING));
+        }
+    }
+
+    @Test
+    void mustDropCachedResponseWhenServerReturnsError() {
+        RestTemplate rest = createRestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"3\"");
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andRespond(withSuccess(LISTING, MediaType.APPLICATION_JSON).headers(headers));
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andExpect(header(HttpHeaders.IF_NONE_MATCH, "\"3\""))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+        server.expect(requestTo(SERVER_URL + "/1"))
+                .andExpect(headerDoesNotExist(HttpHeaders.IF_NONE_MATCH))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+        BaseClient client = new BaseClient(rest, true, false, 100, meterRegistry) {
+        };
+
+        client.get("/1");
+        client.get("/1");
+        ResponseEntity<Object> response = client.get("/1");
+
+        server.verify();
+        assertThat(response.getStatusCode(), equalTo(HttpStatus.NOT_FOUND));
+    }
+
+    @Test
+    void benchmarkAllocationsPerRequest() throws IOException {
+        long mapped = allocatedBytesPerRequest(false);
+        long passedThrough = allocatedBytesPerRequest(true);
+
+        assertThat("passthrough allocated " + passedThrough + " bytes per request, mapping " + mapped,
+                passedThrough, lessThan(mapped / 4));
+    }
+
+    private long allocatedBytesPerRequest(boolean passthrough) throws IOException {
+        RestTemplate rest = createRestTemplate();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(rest).build();
+        server.expect(ExpectedCount.manyTimes(), requestTo(SERVER_URL))
+                .andRespond(withSuccess(LISTING, MediaType.APPLICATION_JSON));
+        BaseClient client = new BaseClient(rest, passthrough, false, 0, meterRegistry) {
+        };
+        for (int i = 0; i < ITERATIONS; i++) {
+            writeToClient(client.get(""));
+        }
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < ITERATIONS; i++) {
+            writeToClient(client.get(""));
+        }
+        return (threads.getCurrentThreadAllocatedBytes() - before) / ITERATIONS;
+    }
+
+    private void writeToClient(ResponseEntity<Object> response) throws IOException {
+        if (response.getBody() instanceof Resource resource) {
+            try (InputStream body = resource.getInputStream()) {
+                body.transferTo(OutputStream.nullOutputStream());
+            }
+        } else {
+            objectMapper.writeValue(OutputStream.nullOutputStream(), response.getBody());
+        }
+    }
+
+    private List<byte[]> callConcurrently(CountDownLatch callersStarted, Supplier<ResponseEntity<Object>> call)
+            throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<byte[]>> futures = new ArrayList<>();
+            for (int i = 0; i < CALLERS; i++) {
+                futures.add(callers.submit(() -> {
+                    callersStarted.countDown();
+                    try (InputStream body = ((Resource) call.get().getBody()).getInputStream()) {
+                        return body.readAllBytes();
+                    }
+                }));
+            }
+            List<byte[]> bodies = new ArrayList<>();
+            for (Future<byte[]> future : futures) {
+                bodies.add(future.get(10, TimeUnit.SECONDS));
+            }
+            return bodies;
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private RestTemplate createRestTemplate() {
+        RestTemplate rest = new RestTemplate();
+        rest.setUriTemplateHandler(new DefaultUriBuilderFactory(SERVER_URL));
+        return rest;
+    }
+}
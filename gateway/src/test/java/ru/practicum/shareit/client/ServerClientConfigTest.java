@@ -0,0 +1,49 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.request.ItemRequestClient;
+import ru.practicum.shareit.user.UserClient;
+
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.sameInstance;
+
+@SpringBootTest(properties = "shareit-server.max-connections=42")
+public class ServerClientConfigTest {
+    @Autowired
+    private ClientHttpRequestFactory serverRequestFactory;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private BookingClient bookingClient;
+    @Autowired
+    private ItemClient itemClient;
+    @Autowired
+    private ItemRequestClient itemRequestClient;
+    @Autowired
+    private UserClient userClient;
+
+    @Test
+    void mustShareOnePoolBetweenClients() {
+        Stream.of(bookingClient, itemClient, itemRequestClient, userClient)
+                .forEach(client -> assertThat(client.rest.getRequestFactory(), sameInstance(serverRequestFactory)));
+    }
+
+    @Test
+    void mustExposePoolMetrics() {
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "shareit-server")
+                .gauge().value(), equalTo(42.0));
+        assertThat(meterRegistry.get("httpcomponents.httpclient.pool.total.pending")
+                .tag("httpclient", "shareit-server")
+                .gauge().value(), equalTo(0.0));
+    }
+}
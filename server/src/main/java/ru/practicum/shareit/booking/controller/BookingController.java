@@ -3,6 +3,7 @@ package ru.practicum.shareit.booking.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.enums.BookingState;
@@ -31,9 +32,13 @@ public class BookingController {
             @RequestHeader(X_SHARER_USER_ID) long userId,
             @RequestParam(name = "state", defaultValue = "all") String stateParam,
             @RequestParam(name = "from", defaultValue = "0") Integer from,
-            @RequestParam(name = "size", defaultValue = "10") Integer size) {
+            @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "after", required = false) String after) {
         BookingState state = BookingState.from(stateParam);
-        log.info("Server received: Get booking with state={}, userId={}, from={}, size={}", stateParam, userId, from, size);
+        log.info("Server received: Get booking with state={}, userId={}, from={}, size={}, after={}", stateParam, userId, from, size, after);
+        if (after != null) {
+            return bookingService.getBookings(userId, state, BookingCursor.from(after), size);
+        }
         return bookingService.getBookings(userId, state, from, size);
     }
 
@@ -67,9 +72,15 @@ public class BookingController {
 
     @GetMapping("/owner")
     public List<BookingResponse> getBookingsForOwner(@RequestHeader(X_SHARER_USER_ID) Long userId,
-                                                     @RequestParam(name = "state", defaultValue = "all") String stateParam) {
-        log.info("Server received: Get booking with state={} for user with id={}", stateParam, userId);
+                                                     @RequestParam(name = "state", defaultValue = "all") String stateParam,
+                                                     @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                     @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                     @RequestParam(name = "after", required = false) String after) {
+        log.info("Server received: Get booking with state={} for user with id={}, from={}, size={}, after={}", stateParam, userId, from, size, after);
         BookingState state = BookingState.from(stateParam);
-        return bookingService.getBookingsForOwner(userId, state);
+        if (after != null) {
+            return bookingService.getBookingsForOwner(userId, state, BookingCursor.from(after), size);
+        }
+        return bookingService.getBookingsForOwner(userId, state, from, size);
     }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.util.CursorToken;
+
+import java.time.LocalDateTime;
+
+public record BookingCursor(
+        LocalDateTime start,
+        long id
+) {
+    public static BookingCursor from(String token) {
+        return CursorToken.parse(token, LocalDateTime::parse, BookingCursor::new);
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.booking.dto;
+
+import ru.practicum.shareit.booking.enums.Status;
+
+import java.time.LocalDateTime;
+
+public record ItemBookingView(
+        Long itemId,
+        Long id,
+        LocalDateTime start,
+        LocalDateTime end,
+        Status status,
+        Long bookerId,
+        String bookerName,
+        String bookerEmail
+) {
+}
@@ -5,8 +5,11 @@ import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
 import ru.practicum.shareit.booking.enums.BookingState;
+import ru.practicum.shareit.booking.enums.Status;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.user.dto.UserResponse;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -20,12 +23,25 @@ public interface BookingMapper {
 
     Booking toBooking(BookingDto bookingDto);
 
+    default BookingResponse toBookingResponse(ItemBookingView view) {
+        return BookingResponse.builder()
+                .id(view.id())
+                .start(view.start())
+                .end(view.end())
+                .booker(new UserResponse(view.bookerId(), view.bookerName(), view.bookerEmail()))
+                .status(view.status())
+                .state(getState(view.status(), view.start(), view.end()))
+                .build();
+    }
+
     default BookingState getState(Booking booking) {
+        return getState(booking.getStatus(), booking.getStart(), booking.getEnd());
+    }
+
+    default BookingState getState(Status status, LocalDateTime start, LocalDateTime end) {
         LocalDateTime now = LocalDateTime.now();
-        LocalDateTime start = booking.getStart();
-        LocalDateTime end = booking.getEnd();
         BookingState bookingState = null;
-        switch (booking.getStatus()) {
+        switch (status) {
             case APPROVED -> {
                 if (now.isAfter(start) && now.isBefore(end)) bookingState = BookingState.CURRENT;
                 else if (now.isBefore(start)) bookingState = BookingState.FUTURE;
@@ -24,10 +24,10 @@ public class Booking {
     @Column(name = "end_date")
     LocalDateTime end;
     @JoinColumn(name = "item_id")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     Item item;
     @JoinColumn(name = "booker_id")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     User booker;
     @Column(name = "status")
     @Enumerated(EnumType.STRING)
@@ -1,20 +1,56 @@
 package ru.practicum.shareit.booking.repository;
 
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
+import ru.practicum.shareit.booking.enums.Status;
 import ru.practicum.shareit.booking.model.Booking;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
-    Optional<Booking> findByItem_IdAndBooker_Id(Long itemId, Long bookerId);
+public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking> {
+    @Override
+    @EntityGraph(attributePaths = {"item", "item.owner", "item.itemRequest", "item.itemRequest.requestor", "booker"})
+    Optional<Booking> findById(Long id);
 
-    List<Booking> findAllByBooker_Id(Long bookerId, Pageable page);
+    @EntityGraph(attributePaths = {"item", "item.owner", "item.itemRequest", "item.itemRequest.requestor", "booker"})
+    Optional<Booking> findByItem_IdAndBooker_Id(Long itemId, Long bookerId);
 
     List<Booking> findAllByItem_Id(Long itemId);
 
-    List<Booking> findAllByItem_IdIn(List<Long> itemsId);
-}
\ No newline at end of file
+    List<Booking> findAllByItem_IdAndStatus(Long itemId, Status status);
+
+    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN TRUE ELSE FALSE END FROM Booking AS b " +
+            "WHERE b.item.id = :itemId " +
+            "AND b.status = :status " +
+            "AND b.start < :end " +
+            "AND b.end >= :start")
+    boolean existsIntersection(Long itemId, Status status, LocalDateTime start, LocalDateTime end);
+
+    @Query("SELECT CASE WHEN COUNT(b) > 0 THEN TRUE ELSE FALSE END FROM Booking AS b " +
+            "WHERE b.item.id = :itemId " +
+            "AND b.id <> :bookingId " +
+            "AND b.status = :status " +
+            "AND b.start < :end " +
+            "AND b.end >= :start")
+    boolean existsIntersectionWithOther(Long itemId, Long bookingId, Status status, LocalDateTime start, LocalDateTime end);
+
+    @Query("SELECT new ru.practicum.shareit.booking.dto.ItemBookingView(i.id, b.id, b.start, b.end, b.status, " +
+            "u.id, u.name, u.email) " +
+            "FROM Booking AS b " +
+            "JOIN b.item AS i " +
+            "JOIN b.booker AS u " +
+            "WHERE i.owner.id = :ownerId " +
+            "AND b.status = :status " +
+            "AND (b.start = (SELECT MAX(l.start) FROM Booking AS l " +
+            "WHERE l.item = i AND l.status = :status AND l.start <= :now) " +
+            "OR b.start = (SELECT MIN(n.start) FROM Booking AS n " +
+            "WHERE n.item = i AND n.status = :status AND n.start > :now))")
+    List<ItemBookingView> findLastAndNextByOwnerId(Long ownerId, Status status, LocalDateTime now);
+}
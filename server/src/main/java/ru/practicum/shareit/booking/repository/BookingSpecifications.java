@@ -0,0 +1,49 @@
+package ru.practicum.shareit.booking.repository;
+
+import jakarta.persistence.criteria.Fetch;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.enums.BookingState;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+
+public interface BookingSpecifications {
+    static Specification<Booking> byBooker(long bookerId) {
+        return (root, query, cb) -> cb.equal(root.get("booker").get("id"), bookerId);
+    }
+
+    static Specification<Booking> byItemOwner(long ownerId) {
+        return (root, query, cb) -> cb.equal(root.get("item").get("owner").get("id"), ownerId);
+    }
+
+    static Specification<Booking> withDetails() {
+        return (root, query, cb) -> {
+            Fetch<Booking, Item> item = root.fetch("item");
+            item.fetch("owner");
+            item.fetch("itemRequest", JoinType.LEFT).fetch("requestor", JoinType.LEFT);
+            root.fetch("booker");
+            return cb.conjunction();
+        };
+    }
+
+    static Specification<Booking> inState(BookingState state, LocalDateTime now) {
+        return (root, query, cb) -> {
+            Path<LocalDateTime> start = root.get("start");
+            Path<LocalDateTime> end = root.get("end");
+            Path<Status> status = root.get("status");
+            return switch (state) {
+                case ALL -> cb.conjunction();
+                case CURRENT -> cb.and(cb.equal(status, Status.APPROVED), cb.lessThan(start, now), cb.greaterThan(end, now));
+                case PAST -> cb.and(cb.equal(status, Status.APPROVED), cb.lessThan(end, now));
+                case FUTURE -> cb.and(cb.equal(status, Status.APPROVED), cb.greaterThan(start, now));
+                case WAITING -> cb.and(cb.equal(status, Status.WAITING), cb.greaterThan(start, now));
+                case REJECTED -> cb.or(cb.equal(status, Status.REJECTED),
+                        cb.and(cb.equal(status, Status.WAITING), cb.lessThan(start, now)));
+            };
+        };
+    }
+}
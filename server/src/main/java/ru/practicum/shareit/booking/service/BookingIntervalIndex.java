@@ -0,0 +1,83 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@Slf4j
+public class BookingIntervalIndex {
+    private final BookingRepository bookingRepository;
+    private final boolean enabled;
+    private final Map<Long, NavigableMap<LocalDateTime, LocalDateTime>> intervals = new ConcurrentHashMap<>();
+
+    public BookingIntervalIndex(BookingRepository bookingRepository,
+                                @Value("${shareit.booking.interval-index.enabled:false}") boolean enabled) {
+        this.bookingRepository = bookingRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isTaken(long itemId, LocalDateTime start, LocalDateTime end) {
+        if (!enabled) {
+            return bookingRepository.existsIntersection(itemId, Status.APPROVED, start, end);
+        }
+        NavigableMap<LocalDateTime, LocalDateTime> itemIntervals = intervals.computeIfAbsent(itemId, this::load);
+        Map.Entry<LocalDateTime, LocalDateTime> candidate = itemIntervals.lowerEntry(end);
+        return candidate != null && !candidate.getValue().isBefore(start);
+    }
+
+    public void evict(long itemId) {
+        if (!enabled) {
+            return;
+        }
+        intervals.remove(itemId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    intervals.remove(itemId);
+                }
+            });
+        }
+    }
+
+    private NavigableMap<LocalDateTime, LocalDateTime> load(long itemId) {
+        log.debug("Server: Loading approved booking intervals for item with id={}", itemId);
+        List<Booking> approved = bookingRepository.findAllByItem_IdAndStatus(itemId, Status.APPROVED).stream()
+                .sorted(Comparator.comparing(Booking::getStart))
+                .toList();
+        NavigableMap<LocalDateTime, LocalDateTime> merged = new TreeMap<>();
+        LocalDateTime currentStart = null;
+        LocalDateTime currentEnd = null;
+        for (Booking booking : approved) {
+            if (currentEnd != null && !booking.getStart().isAfter(currentEnd)) {
+                if (booking.getEnd().isAfter(currentEnd)) {
+                    currentEnd = booking.getEnd();
+                }
+            } else {
+                if (currentStart != null) {
+                    merged.put(currentStart, currentEnd);
+                }
+                currentStart = booking.getStart();
+                currentEnd = booking.getEnd();
+            }
+        }
+        if (currentStart != null) {
+            merged.put(currentStart, currentEnd);
+        }
+        return merged;
+    }
+}
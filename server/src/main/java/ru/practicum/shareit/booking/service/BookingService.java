@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.enums.BookingState;
@@ -19,5 +20,9 @@ public interface BookingService {
 
     List<BookingResponse> getBookings(long bookerId, BookingState state, int from, int size);
 
-    List<BookingResponse> getBookingsForOwner(long ownerId, BookingState state);
+    List<BookingResponse> getBookings(long bookerId, BookingState state, BookingCursor after, int size);
+
+    List<BookingResponse> getBookingsForOwner(long ownerId, BookingState state, int from, int size);
+
+    List<BookingResponse> getBookingsForOwner(long ownerId, BookingState state, BookingCursor after, int size);
 }
\ No newline at end of file
@@ -3,8 +3,12 @@ package ru.practicum.shareit.booking.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.enums.BookingState;
@@ -12,6 +16,7 @@ import ru.practicum.shareit.booking.enums.Status;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.repository.BookingSpecifications;
 import ru.practicum.shareit.exception.DateTimeAlreadyTakenException;
 import ru.practicum.shareit.exception.ItemIsUnavailableException;
 import ru.practicum.shareit.exception.NoPermissionException;
@@ -19,20 +24,25 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
-import ru.practicum.shareit.util.Intersection;
+import ru.practicum.shareit.user.service.UserCache;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 @Slf4j
 public class BookingServiceImpl implements BookingService {
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "start", "id");
+
     private final BookingRepository bookingRepository;
-    private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final UserCache userCache;
     private final BookingMapper bookingMapper;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ItemBookingLock itemBookingLock;
 
     @Override
     @Transactional(readOnly = true)
@@ -50,16 +60,14 @@ public class BookingServiceImpl implements BookingService {
     @Override
     public BookingResponse createBooking(long userId, BookingDto request) {
         log.info("Server: Method createBooking begin");
-        checkTimeIntersection(request);
         request.setStatus(Status.WAITING);
-        User booker = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с ID = " + userId + " не найден"));
+        User booker = userCache.getReference(userId);
 
-        Item item = itemRepository.findById(request.getItemId())
-                .orElseThrow(() -> new NotFoundException("Предмет с ID = " + request.getItemId() + " не найден"));
+        Item item = lockItem(request.getItemId());
         if (!item.getAvailable()) {
             throw new ItemIsUnavailableException("Предмет недоступен");
         }
+        checkTimeIntersection(request);
         Booking booking = bookingMapper.toBooking(request);
         booking.setBooker(booker);
         booking.setItem(item);
@@ -74,22 +82,28 @@ public class BookingServiceImpl implements BookingService {
                 .orElseThrow(() -> new NotFoundException("Бронирование с ID = " + bookingId + " не найдено"));
         boolean isBooker = booking.getBooker().getId() == userId;
         boolean isOwner = booking.getItem().getOwner().getId() == userId;
+        boolean wasApproved = booking.getStatus() == Status.APPROVED;
 
         if (!isOwner && !isBooker) {
             throw new NoPermissionException("Недостаточно прав для данного запроса");
         }
-        if (isOwner && (request.getStart() != null || request.getEnd() != null)) {
+        boolean isReschedule = request.getStart() != null || request.getEnd() != null;
+        if (isOwner && isReschedule) {
             throw new NoPermissionException("Недостаточно прав для данного запроса");
         } else {
-            checkTimeIntersection(request);
             if (request.getStart() != null) {
                 booking.setStart(request.getStart());
             }
             if (request.getEnd() != null) {
                 booking.setEnd(request.getEnd());
             }
+            if (isReschedule && !wasApproved && bookingIntervalIndex.isTaken(booking.getItem().getId(),
+                    booking.getStart(), booking.getEnd())) {
+                throw new DateTimeAlreadyTakenException("На данное время предмет забронирован");
+            }
         }
         if (request.getStatus() != null) {
+            bookingIntervalIndex.evict(booking.getItem().getId());
             if (isBooker) {
                 if (request.getStatus() == Status.CANCELED) {
                     booking.setStatus(request.getStatus());
@@ -98,12 +112,17 @@ public class BookingServiceImpl implements BookingService {
                 }
             } else {
                 switch (request.getStatus()) {
-                    case APPROVED, REJECTED -> booking.setStatus(request.getStatus());
+                    case APPROVED -> approve(booking);
+                    case REJECTED -> booking.setStatus(request.getStatus());
                     default -> throw new NoPermissionException("Недостаточно прав для данного запроса");
                 }
             }
         }
+        if (isReschedule && wasApproved && booking.getStatus() == Status.APPROVED) {
+            reschedule(booking);
+        }
         booking = bookingRepository.save(booking);
+        refreshRentStatistics(booking, wasApproved);
         return bookingMapper.toBookingResponse(booking);
     }
 
@@ -118,6 +137,10 @@ public class BookingServiceImpl implements BookingService {
         }
 
         bookingRepository.deleteById(bookingId);
+        bookingIntervalIndex.evict(booking.getItem().getId());
+        if (booking.getStatus() == Status.APPROVED) {
+            itemRepository.refreshRentStatistics(booking.getItem().getId(), LocalDateTime.now());
+        }
     }
 
     @Override
@@ -126,8 +149,15 @@ public class BookingServiceImpl implements BookingService {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new NotFoundException("Бронирование> с ID = " + bookingId + " не найден"));
         if (booking.getItem().getOwner().getId().equals(userId)) {
-            booking.setStatus(isAccept ? Status.APPROVED : Status.REJECTED);
+            boolean wasApproved = booking.getStatus() == Status.APPROVED;
+            if (isAccept) {
+                approve(booking);
+            } else {
+                booking.setStatus(Status.REJECTED);
+            }
             booking = bookingRepository.save(booking);
+            bookingIntervalIndex.evict(booking.getItem().getId());
+            refreshRentStatistics(booking, wasApproved);
             return bookingMapper.toBookingResponse(booking);
         } else {
             throw new NoPermissionException("Недостаточно прав для данного запроса");
@@ -138,46 +168,102 @@ public class BookingServiceImpl implements BookingService {
     @Transactional(readOnly = true)
     public List<BookingResponse> getBookings(long bookerId, BookingState state, int from, int size) {
         log.info("Server: Method getBookings begin");
-        userRepository.findById(bookerId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с ID = " + bookerId + " не найден"));
-        PageRequest page = PageRequest.of(from > 0 ? from / size : 0, size);
-        return state.equals(BookingState.ALL) ?
-                bookingMapper.toBookingResponseList(bookingRepository.findAllByBooker_Id(bookerId, page)) :
-                bookingRepository.findAllByBooker_Id(bookerId, page).stream()
-                        .map(bookingMapper::toBookingResponse)
-                        .filter(bookingResponse -> bookingResponse.state().equals(state))
-                        .toList();
+        return findBookingsForBooker(bookerId, state, offsetPosition(from, size), size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingResponse> getBookings(long bookerId, BookingState state, BookingCursor after, int size) {
+        log.info("Server: Method getBookings after cursor begin");
+        return findBookingsForBooker(bookerId, state, keysetPosition(after), size);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<BookingResponse> getBookingsForOwner(long ownerId, BookingState state) {
+    public List<BookingResponse> getBookingsForOwner(long ownerId, BookingState state, int from, int size) {
         log.info("Server: Method getBookingsForOwner begin");
-        userRepository.findById(ownerId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с ID = " + ownerId + " не найден"));
-        List<Long> itemsId = itemRepository.findAllByOwnerId(ownerId).stream()
-                .map(Item::getId)
-                .toList();
-        if (itemsId.isEmpty()) {
+        return findBookingsForOwner(ownerId, state, offsetPosition(from, size), size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<BookingResponse> getBookingsForOwner(long ownerId, BookingState state, BookingCursor after, int size) {
+        log.info("Server: Method getBookingsForOwner after cursor begin");
+        return findBookingsForOwner(ownerId, state, keysetPosition(after), size);
+    }
+
+    private List<BookingResponse> findBookingsForBooker(long bookerId, BookingState state, ScrollPosition position, int size) {
+        userCache.get(bookerId);
+        return findBookings(BookingSpecifications.byBooker(bookerId), state, position, size);
+    }
+
+    private List<BookingResponse> findBookingsForOwner(long ownerId, BookingState state, ScrollPosition position, int size) {
+        userCache.get(ownerId);
+        if (!itemRepository.existsByOwnerId(ownerId)) {
             throw new NotFoundException("Бронирования не найдены");
         }
+        return findBookings(BookingSpecifications.byItemOwner(ownerId), state, position, size);
+    }
 
-        return state.equals(BookingState.ALL) ?
-                bookingMapper.toBookingResponseList(bookingRepository.findAllByItem_IdIn(itemsId)) :
-                bookingRepository.findAllByItem_IdIn(itemsId).stream()
-                        .map(bookingMapper::toBookingResponse)
-                        .filter(bookingResponse -> bookingResponse.state().equals(state))
-                        .toList();
+    private List<BookingResponse> findBookings(Specification<Booking> spec, BookingState state, ScrollPosition position, int size) {
+        Specification<Booking> filter = spec
+                .and(BookingSpecifications.inState(state, LocalDateTime.now()))
+                .and(BookingSpecifications.withDetails());
+        List<Booking> bookings = bookingRepository.findBy(filter, query -> query
+                .sortBy(NEWEST_FIRST)
+                .limit(size)
+                .scroll(position)
+                .getContent());
+        return bookingMapper.toBookingResponseList(bookings);
     }
 
-    private void checkTimeIntersection(BookingDto request) {
-        List<Booking> bookings = bookingRepository.findAllByItem_Id(request.getItemId());
-        for (Booking booking : bookings) {
-            if (Intersection.timeIntersection(request.getStart(), request.getEnd(), booking.getStart(), booking.getEnd())) {
-                if (booking.getStatus() == Status.APPROVED) {
-                    throw new DateTimeAlreadyTakenException("На данное время предмет забронирован");
-                }
+    private static ScrollPosition offsetPosition(int from, int size) {
+        long offset = PageRequest.of(from > 0 ? from / size : 0, size).getOffset();
+        return offset > 0 ? ScrollPosition.offset(offset - 1) : ScrollPosition.offset();
+    }
+
+    private static ScrollPosition keysetPosition(BookingCursor after) {
+        return ScrollPosition.forward(Map.of("start", after.start(), "id", after.id()));
+    }
+
+    private Item lockItem(long itemId) {
+        itemBookingLock.lockUntilCompletion(itemId);
+        return itemRepository.findByIdForUpdate(itemId)
+                .orElseThrow(() -> new NotFoundException("Предмет с ID = " + itemId + " не найден"));
+    }
+
+    private void approve(Booking booking) {
+        if (booking.getStatus() != Status.APPROVED) {
+            lockItem(booking.getItem().getId());
+            if (bookingRepository.existsIntersectionWithOther(booking.getItem().getId(), booking.getId(),
+                    Status.APPROVED, booking.getStart(), booking.getEnd())) {
+                throw new DateTimeAlreadyTakenException("На данное время предмет забронирован");
             }
         }
+        booking.setStatus(Status.APPROVED);
+    }
+
+    private void reschedule(Booking booking) {
+        lockItem(booking.getItem().getId());
+        bookingIntervalIndex.evict(booking.getItem().getId());
+        if (bookingRepository.existsIntersectionWithOther(booking.getItem().getId(), booking.getId(),
+                Status.APPROVED, booking.getStart(), booking.getEnd())) {
+            throw new DateTimeAlreadyTakenException("На данное время предмет забронирован");
+        }
+    }
+
+    private void refreshRentStatistics(Booking booking, boolean wasApproved) {
+        if (wasApproved || booking.getStatus() == Status.APPROVED) {
+            itemRepository.refreshRentStatistics(booking.getItem().getId(), LocalDateTime.now());
+        }
+    }
+
+    private void checkTimeIntersection(BookingDto request) {
+        if (request.getItemId() == null || request.getStart() == null || request.getEnd() == null) {
+            return;
+        }
+        if (bookingIntervalIndex.isTaken(request.getItemId(), request.getStart(), request.getEnd())) {
+            throw new DateTimeAlreadyTakenException("На данное время предмет забронирован");
+        }
     }
 }
\ No newline at end of file
@@ -44,4 +44,16 @@ public class ErrorHandler {
     public Map<String, String> leaveCommentException(final LeaveCommentException e) {
         return Map.of("error:", e.getMessage());
     }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public Map<String, String> invalidCursorException(final InvalidCursorException e) {
+        return Map.of("error:", e.getMessage());
+    }
+
+    @ExceptionHandler
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public Map<String, String> dateTimeAlreadyTakenException(final DateTimeAlreadyTakenException e) {
+        return Map.of("error:", e.getMessage());
+    }
 }
@@ -3,10 +3,14 @@ package ru.practicum.shareit.item.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.exception.InvalidCursorException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentResponse;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.item.dto.ItemSearchCursor;
+import ru.practicum.shareit.item.enums.ItemSort;
 import ru.practicum.shareit.item.service.ItemService;
 
 import java.util.ArrayList;
@@ -22,15 +26,19 @@ public class ItemController {
     public static final String X_SHARER_USER_ID = "X-Sharer-User-Id";
 
     @GetMapping("/{itemId}")
-    public ItemResponse getItem(@PathVariable Long itemId) {
+    public ItemResponse getItem(@PathVariable Long itemId, WebRequest webRequest) {
         log.info("Server received: Get item with id={}", itemId);
+        if (webRequest.checkNotModified(String.valueOf(itemService.getItemVersion(itemId)))) {
+            return null;
+        }
         return itemService.getItem(itemId);
     }
 
     @GetMapping
-    public List<ItemResponse> getItemsForUser(@RequestHeader(X_SHARER_USER_ID) Long userId) {
-        log.info("Server received: Get items for user with id={}", userId);
-        return itemService.getItemsForUser(userId);
+    public List<ItemResponse> getItemsForUser(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                              @RequestParam(name = "sort", defaultValue = "default") String sortParam) {
+        log.info("Server received: Get items for user with id={}, sort={}", userId, sortParam);
+        return itemService.getItemsForUser(userId, ItemSort.from(sortParam));
     }
 
     @PostMapping
@@ -56,11 +64,31 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public List<ItemResponse> searchItem(@RequestParam("text") String text) {
+    public List<ItemResponse> searchItem(@RequestParam("text") String text,
+                                         @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                         @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                         @RequestParam(name = "after", required = false) String after,
+                                         @RequestParam(name = "sort", defaultValue = "default") String sortParam) {
         if (text.isBlank())
             return new ArrayList<>();
-        log.info("Server received: Get item by text={}", text);
-        return itemService.getBySearch(text.toLowerCase());
+        ItemSort sort = ItemSort.from(sortParam);
+        log.info("Server received: Get item by text={}, from={}, size={}, after={}, sort={}", text, from, size, after, sort);
+        if (after != null) {
+            if (sort != ItemSort.DEFAULT) {
+                throw new InvalidCursorException("Параметр after поддерживается только для сортировки по умолчанию");
+            }
+            return itemService.getBySearch(text.toLowerCase(), ItemSearchCursor.from(after), size);
+        }
+        return itemService.getBySearch(text.toLowerCase(), from, size, sort);
+    }
+
+    @GetMapping("/suggest")
+    public List<String> suggestItemNames(@RequestParam("prefix") String prefix,
+                                         @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        if (prefix.isBlank())
+            return new ArrayList<>();
+        log.info("Server received: Get item name suggestions for prefix={}, size={}", prefix, size);
+        return itemService.getSuggestions(prefix, size);
     }
 
     @PostMapping("/{itemId}/comment")
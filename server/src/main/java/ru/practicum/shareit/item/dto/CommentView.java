@@ -0,0 +1,12 @@
+package ru.practicum.shareit.item.dto;
+
+import java.sql.Timestamp;
+
+public record CommentView(
+        Long itemId,
+        Long id,
+        String text,
+        Timestamp created,
+        String authorName
+) {
+}
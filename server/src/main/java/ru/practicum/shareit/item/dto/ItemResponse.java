@@ -16,6 +16,7 @@ public record ItemResponse(
         BookingResponse nextBooking,
         List<CommentResponse> comments,
         ItemRequestResponse itemRequest,
-        Integer rentCount
+        Integer rentCount,
+        Integer commentCount
 ) {
 }
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.item.dto;
+
+import ru.practicum.shareit.util.CursorToken;
+
+/**
+ * Position after the last item of a search page: its rank (0 for a name match, 1 for a description match) and id.
+ */
+public record ItemSearchCursor(
+        int rank,
+        long id
+) {
+    public static ItemSearchCursor from(String token) {
+        return CursorToken.parse(token, Integer::parseInt, ItemSearchCursor::new);
+    }
+}
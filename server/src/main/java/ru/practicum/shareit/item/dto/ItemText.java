@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.dto;
+
+public record ItemText(
+        Long id,
+        String name,
+        String description,
+        Boolean available
+) {
+}
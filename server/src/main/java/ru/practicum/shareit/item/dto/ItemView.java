@@ -0,0 +1,22 @@
+package ru.practicum.shareit.item.dto;
+
+import java.time.LocalDateTime;
+
+public record ItemView(
+        Long id,
+        String name,
+        String description,
+        Boolean available,
+        Long ownerId,
+        String ownerName,
+        String ownerEmail,
+        Long requestId,
+        String requestDescription,
+        LocalDateTime requestCreated,
+        Long requestorId,
+        String requestorName,
+        String requestorEmail,
+        Integer rentCount,
+        Integer commentCount
+) {
+}
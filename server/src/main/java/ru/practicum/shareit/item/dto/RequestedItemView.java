@@ -0,0 +1,9 @@
+package ru.practicum.shareit.item.dto;
+
+public record RequestedItemView(
+        Long requestId,
+        Long id,
+        String name,
+        Long ownerId
+) {
+}
@@ -0,0 +1,10 @@
+package ru.practicum.shareit.item.enums;
+
+public enum ItemSort {
+    DEFAULT,
+    POPULARITY;
+
+    public static ItemSort from(String stringSort) {
+        return ItemSort.valueOf(stringSort.toUpperCase());
+    }
+}
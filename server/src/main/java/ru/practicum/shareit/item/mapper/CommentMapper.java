@@ -3,8 +3,10 @@ package ru.practicum.shareit.item.mapper;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
+import org.mapstruct.Named;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentResponse;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.model.Comment;
 
 import java.util.List;
@@ -17,5 +19,13 @@ public interface CommentMapper {
 
     List<CommentResponse> toCommentResponseList(List<Comment> comments);
 
+    @Named("withoutItem")
+    @Mapping(source = "author.name", target = "authorName")
+    @Mapping(target = "item", ignore = true)
+    CommentResponse toCommentResponseWithoutItem(Comment comment);
+
+    @Mapping(target = "item", ignore = true)
+    CommentResponse toCommentResponseFromView(CommentView commentView);
+
     Comment toComment(CommentDto commentDto);
 }
@@ -3,11 +3,17 @@ package ru.practicum.shareit.item.mapper;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.MappingConstants;
+import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.item.dto.CommentResponse;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponse;
 import ru.practicum.shareit.item.dto.ItemShortResponse;
+import ru.practicum.shareit.item.dto.ItemText;
+import ru.practicum.shareit.item.dto.ItemView;
+import ru.practicum.shareit.item.dto.RequestedItemView;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestResponse;
+import ru.practicum.shareit.user.dto.UserResponse;
 
 import java.util.List;
 
@@ -25,4 +31,35 @@ public interface ItemMapper {
     ItemShortResponse toItemShortResponse(Item item);
 
     List<ItemShortResponse> toItemShortResponses(List<Item> items);
+
+    ItemShortResponse toItemShortResponseFromView(RequestedItemView view);
+
+    ItemText toItemText(Item item);
+
+    default ItemResponse toItemResponse(ItemView view) {
+        return toItemResponse(view, null, null, null);
+    }
+
+    default ItemResponse toItemResponse(ItemView view, BookingResponse lastBooking, BookingResponse nextBooking,
+                                        List<CommentResponse> comments) {
+        ItemRequestResponse itemRequest = view.requestId() == null ? null : new ItemRequestResponse(
+                view.requestId(),
+                view.requestDescription(),
+                new UserResponse(view.requestorId(), view.requestorName(), view.requestorEmail()),
+                view.requestCreated()
+        );
+        return new ItemResponse(
+                view.id(),
+                view.name(),
+                view.description(),
+                view.available(),
+                new UserResponse(view.ownerId(), view.ownerName(), view.ownerEmail()),
+                lastBooking,
+                nextBooking,
+                comments,
+                itemRequest,
+                view.rentCount(),
+                view.commentCount()
+        );
+    }
 }
\ No newline at end of file
@@ -19,9 +19,9 @@ public class Comment {
     @Column(name = "created")
     private Timestamp created;
     @JoinColumn(name = "item_id")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Item item;
     @JoinColumn(name = "author_id")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private User author;
 }
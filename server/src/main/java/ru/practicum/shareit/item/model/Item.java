@@ -7,6 +7,8 @@ import lombok.experimental.FieldDefaults;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
 
+import java.time.LocalDateTime;
+
 @Data
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Entity
@@ -23,11 +25,17 @@ public class Item {
     @Column(name = "is_available")
     Boolean available;
     @JoinColumn(name = "owner_id")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     User owner;
     @JoinColumn(name = "item_request_id")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     ItemRequest itemRequest;
-    @Transient
+    @Column(name = "rent_count", insertable = false, updatable = false)
     Integer rentCount;
+    @Column(name = "comment_count", insertable = false, updatable = false)
+    Integer commentCount;
+    @Column(name = "last_rented_at", insertable = false, updatable = false)
+    LocalDateTime lastRentedAt;
+    @Column(name = "version", insertable = false, updatable = false)
+    Long version;
 }
@@ -1,10 +1,26 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @EntityGraph(attributePaths = {"item", "item.owner", "item.itemRequest", "item.itemRequest.requestor", "author"})
     List<Comment> findCommentByItem_Id(Long itemId);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.CommentView(c.itemId, c.id, c.text, c.created, c.authorName) " +
+            "FROM (SELECT cm.item.id AS itemId, cm.id AS id, cm.text AS text, cm.created AS created, " +
+            "a.name AS authorName, " +
+            "ROW_NUMBER() OVER (PARTITION BY cm.item.id ORDER BY cm.created DESC, cm.id DESC) AS position " +
+            "FROM Comment AS cm " +
+            "JOIN cm.author AS a " +
+            "WHERE cm.item.id IN ?1) AS c " +
+            "WHERE c.position <= ?2 " +
+            "ORDER BY c.itemId, c.created DESC, c.id DESC")
+    List<CommentView> findLatestViewsByItemIdIn(Collection<Long> itemIds, int perItem);
 }
@@ -1,24 +1,127 @@
 package ru.practicum.shareit.item.repository;
 
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.ItemShortResponse;
+import ru.practicum.shareit.item.dto.ItemText;
+import ru.practicum.shareit.item.dto.ItemView;
+import ru.practicum.shareit.item.dto.RequestedItemView;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
+    String ITEM_VIEW = "SELECT new ru.practicum.shareit.item.dto.ItemView(i.id, i.name, i.description, i.available, " +
+            "o.id, o.name, o.email, r.id, r.description, r.created, rq.id, rq.name, rq.email, " +
+            "i.rentCount, i.commentCount) " +
+            "FROM Item AS i " +
+            "JOIN i.owner AS o " +
+            "LEFT JOIN i.itemRequest AS r " +
+            "LEFT JOIN r.requestor AS rq ";
+    String SEARCH_MATCH = "(LOWER(i.name) LIKE LOWER(CONCAT('%', ?1, '%')) " +
+            "OR LOWER(i.description) LIKE LOWER(CONCAT('%', ?1, '%'))) " +
+            "AND i.available = TRUE ";
+    String NAME_RANK = "CASE WHEN LOWER(i.name) LIKE LOWER(CONCAT('%', ?1, '%')) THEN 0 ELSE 1 END";
+    String COMMENTS = "(SELECT COUNT(c) FROM Comment AS c WHERE c.item.id = i.id)";
+    String RENTS = "(SELECT COUNT(b) FROM Booking AS b " +
+            "WHERE b.item.id = i.id AND b.status = ru.practicum.shareit.booking.enums.Status.APPROVED " +
+            "AND b.end < :now)";
+    String LAST_RENT = "(SELECT MAX(b.end) FROM Booking AS b " +
+            "WHERE b.item.id = i.id AND b.status = ru.practicum.shareit.booking.enums.Status.APPROVED " +
+            "AND b.end < :now)";
+    String POPULARITY = "i.rentCount DESC, i.commentCount DESC, i.id";
 
-    List<Item> findAllByOwnerId(Long id);
+    @Override
+    @EntityGraph(attributePaths = {"owner", "itemRequest", "itemRequest.requestor"})
+    Optional<Item> findById(Long id);
 
-    @Query(" SELECT i FROM Item AS i " +
-            "WHERE (LOWER(i.name) LIKE LOWER(CONCAT('%', ?1, '%')) " +
-            "OR LOWER(i.description)  LIKE LOWER(CONCAT('%', ?1, '%')) )" +
-            "AND i.available = TRUE")
-    List<Item> findAllByNameOrDescription(String text);
+    @Query(ITEM_VIEW + "WHERE o.id = ?1 ORDER BY i.id")
+    List<ItemView> findViewsByOwnerId(Long ownerId);
 
-    List<Item> findAllByItemRequest_Id(Long requestId);
+    @Query(ITEM_VIEW + "WHERE o.id = ?1 ORDER BY " + POPULARITY)
+    List<ItemView> findPopularViewsByOwnerId(Long ownerId);
 
-    List<Item> findAllByItemRequest_IdIn(List<Long> requestIds);
+    boolean existsByOwnerId(Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item AS i WHERE i.id = ?1")
+    Optional<Item> findByIdForUpdate(Long id);
+
+    @Query(ITEM_VIEW + "WHERE " + SEARCH_MATCH + "ORDER BY " + NAME_RANK + ", i.id")
+    List<ItemView> findViewsByNameOrDescription(String text, Pageable pageable);
+
+    @Query(ITEM_VIEW + "WHERE " + SEARCH_MATCH + "ORDER BY " + POPULARITY)
+    List<ItemView> findPopularViewsByNameOrDescription(String text, Pageable pageable);
+
+    @Query(ITEM_VIEW + "WHERE " + SEARCH_MATCH +
+            "AND (" + NAME_RANK + " > ?2 OR (" + NAME_RANK + " = ?2 AND i.id > ?3)) " +
+            "ORDER BY " + NAME_RANK + ", i.id")
+    List<ItemView> findViewsByNameOrDescriptionAfter(String text, int afterRank, Long afterId, Limit limit);
+
+    @Query(ITEM_VIEW + "WHERE i.id IN ?1 AND i.available = TRUE")
+    List<ItemView> findAvailableViewsByIdIn(Collection<Long> ids);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemText(i.id, i.name, i.description, i.available) " +
+            "FROM Item AS i " +
+            "WHERE i.available = TRUE")
+    List<ItemText> findAvailableTexts();
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.ItemShortResponse(i.id, i.name, i.owner.id) " +
+            "FROM Item AS i " +
+            "WHERE i.itemRequest.id = ?1")
+    List<ItemShortResponse> findShortByItemRequestId(Long requestId);
+
+    @Query("SELECT new ru.practicum.shareit.item.dto.RequestedItemView(r.id, i.id, i.name, i.owner.id) " +
+            "FROM Item AS i " +
+            "JOIN i.itemRequest AS r " +
+            "WHERE r.requestor.id = ?1")
+    List<RequestedItemView> findRequestedByRequestorId(Long requestorId);
+
+    @Modifying
+    @Query("UPDATE Item AS i SET i.commentCount = i.commentCount + 1, i.version = i.version + 1 WHERE i.id = ?1")
+    int incrementCommentCount(Long itemId);
+
+    @Modifying
+    @Query("UPDATE Item AS i " +
+            "SET i.rentCount = " + RENTS + ", i.lastRentedAt = " + LAST_RENT + ", i.version = i.version + 1 " +
+            "WHERE i.id = :itemId")
+    int refreshRentStatistics(Long itemId, LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Item AS i " +
+            "SET i.commentCount = " + COMMENTS + ", i.rentCount = " + RENTS + ", i.lastRentedAt = " + LAST_RENT + ", " +
+            "i.version = i.version + 1 " +
+            "WHERE i.commentCount <> " + COMMENTS + " " +
+            "OR i.rentCount <> " + RENTS + " " +
+            "OR i.lastRentedAt IS DISTINCT FROM " + LAST_RENT)
+    int reconcileCounters(LocalDateTime now);
+
+    @Query("SELECT i.version FROM Item AS i WHERE i.id = ?1")
+    Optional<Long> findVersionById(Long itemId);
+
+    @Modifying
+    @Query("UPDATE Item AS i SET i.version = i.version + 1 WHERE i.id = ?1")
+    int incrementVersion(Long itemId);
+
+    @Modifying
+    @Query("UPDATE Item AS i SET i.version = i.version + 1 WHERE i.itemRequest.id = ?1")
+    int incrementVersionByItemRequestId(Long itemRequestId);
+
+    @Modifying
+    @Query("UPDATE Item AS i SET i.version = i.version + 1 " +
+            "WHERE i.owner.id = ?1 " +
+            "OR i.id IN (SELECT c.item.id FROM Comment AS c WHERE c.author.id = ?1) " +
+            "OR i.itemRequest.id IN (SELECT r.id FROM ItemRequest AS r WHERE r.requestor.id = ?1)")
+    int incrementVersionByUserId(Long userId);
 }
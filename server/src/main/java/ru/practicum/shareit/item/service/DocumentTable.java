@@ -0,0 +1,63 @@
+package ru.practicum.shareit.item.service;
+
+import java.util.Arrays;
+
+/**
+ * Indexed item texts kept in id-sorted parallel arrays, so lookups need no boxed keys.
+ */
+class DocumentTable {
+    private long[] ids = new long[16];
+    private String[] names = new String[16];
+    private String[] descriptions = new String[16];
+    private int size;
+
+    void put(long id, String name, String description) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            position = -position - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                names = Arrays.copyOf(names, size * 2);
+                descriptions = Arrays.copyOf(descriptions, size * 2);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            System.arraycopy(names, position, names, position + 1, size - position);
+            System.arraycopy(descriptions, position, descriptions, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+        names[position] = name;
+        descriptions[position] = description;
+    }
+
+    int indexOf(long id) {
+        return Arrays.binarySearch(ids, 0, size, id);
+    }
+
+    String name(int position) {
+        return names[position];
+    }
+
+    String description(int position) {
+        return descriptions[position];
+    }
+
+    void removeAt(int position) {
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        System.arraycopy(names, position + 1, names, position, size - position - 1);
+        System.arraycopy(descriptions, position + 1, descriptions, position, size - position - 1);
+        size--;
+        names[size] = null;
+        descriptions[size] = null;
+    }
+
+    void clear() {
+        Arrays.fill(names, 0, size, null);
+        Arrays.fill(descriptions, 0, size, null);
+        size = 0;
+    }
+
+    long[] ids() {
+        return Arrays.copyOf(ids, size);
+    }
+}
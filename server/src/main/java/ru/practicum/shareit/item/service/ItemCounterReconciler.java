@@ -0,0 +1,34 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Periodically recomputes the denormalized item counters from comments and completed approved bookings
+ * and rewrites only the rows that drifted, which also picks up rentals that ended since the last run.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemCounterReconciler {
+    private final ItemRepository itemRepository;
+
+    @Scheduled(fixedDelayString = "${shareit.item.counters.reconcile-interval:PT1H}",
+            initialDelayString = "${shareit.item.counters.reconcile-interval:PT1H}")
+    @Transactional
+    public int reconcile() {
+        int updated = itemRepository.reconcileCounters(LocalDateTime.now());
+        if (updated > 0) {
+            log.info("Server: Reconciled drifted counters for {} items", updated);
+        } else {
+            log.debug("Server: Item counters are consistent");
+        }
+        return updated;
+    }
+}
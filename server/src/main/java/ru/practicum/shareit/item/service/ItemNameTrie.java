@@ -0,0 +1,237 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemText;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Component
+@Slf4j
+public class ItemNameTrie implements SmartInitializingSingleton {
+    private static final Comparator<Candidate> CANDIDATE_ORDER = Comparator.comparingInt(Candidate::score).reversed()
+            .thenComparing(candidate -> candidate.name() != null)
+            .thenComparing(Candidate::name, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final ItemRepository itemRepository;
+    private Node root = new Node();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ItemNameTrie(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        build();
+    }
+
+    /**
+     * Loads the trie before the web server starts. The snapshot is read and applied under the write lock on a fresh
+     * root, so names are counted once even if the trie is rebuilt.
+     */
+    public void build() {
+        lock.writeLock().lock();
+        try {
+            List<ItemText> items = itemRepository.findAvailableTexts();
+            root = new Node();
+            items.forEach(item -> add(item.name()));
+            log.info("Server: Item name trie built for {} items", items.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code size} distinct names starting with the prefix, names shared by more available items
+     * first and ties in alphabetical order. Subtrees are expanded best-first by the largest name count they hold,
+     * so only the branches that can still contribute to the top of the list are visited.
+     */
+    public List<String> suggest(String prefix, int size) {
+        lock.readLock().lock();
+        try {
+            Node node = root;
+            String key = prefix.toLowerCase(Locale.ROOT);
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.child(key.charAt(i));
+            }
+            List<String> names = new ArrayList<>(size);
+            if (node == null) {
+                return names;
+            }
+            PriorityQueue<Candidate> queue = new PriorityQueue<>(CANDIDATE_ORDER);
+            queue.add(new Candidate(node.max, null, node));
+            while (!queue.isEmpty() && names.size() < size) {
+                Candidate candidate = queue.poll();
+                if (candidate.name() != null) {
+                    names.add(candidate.name());
+                    continue;
+                }
+                Node current = candidate.node();
+                if (current.names != null) {
+                    current.names.forEach((name, count) -> queue.add(new Candidate(count, name, null)));
+                }
+                for (int i = 0; i < current.size; i++) {
+                    queue.add(new Candidate(current.children[i].max, null, current.children[i]));
+                }
+            }
+            return names;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void update(ItemText before, ItemText after) {
+        if (before != null && after != null && before.equals(after)) {
+            return;
+        }
+        Runnable action = () -> {
+            lock.writeLock().lock();
+            try {
+                if (before != null && Boolean.TRUE.equals(before.available())) {
+                    remove(before.name());
+                }
+                if (after != null && Boolean.TRUE.equals(after.available())) {
+                    add(after.name());
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void add(String name) {
+        if (name == null) {
+            return;
+        }
+        String key = name.toLowerCase(Locale.ROOT);
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        root.count++;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].childOrCreate(key.charAt(i));
+            path[i + 1].count++;
+        }
+        Node last = path[key.length()];
+        if (last.names == null) {
+            last.names = new TreeMap<>();
+        }
+        int count = last.names.merge(name, 1, Integer::sum);
+        for (Node node : path) {
+            node.max = Math.max(node.max, count);
+        }
+    }
+
+    private void remove(String name) {
+        if (name == null) {
+            return;
+        }
+        String key = name.toLowerCase(Locale.ROOT);
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].child(key.charAt(i));
+            if (path[i + 1] == null) {
+                return;
+            }
+        }
+        Node last = path[key.length()];
+        if (last.names == null || !last.names.containsKey(name)) {
+            return;
+        }
+        last.names.computeIfPresent(name, (k, count) -> count > 1 ? count - 1 : null);
+        if (last.names.isEmpty()) {
+            last.names = null;
+        }
+        for (int i = key.length(); i >= 0; i--) {
+            path[i].count--;
+            if (i > 0 && path[i].count == 0) {
+                path[i - 1].removeChild(key.charAt(i - 1));
+            }
+            path[i].refreshMax();
+        }
+    }
+
+    private record Candidate(int score, String name, Node node) {
+    }
+
+    private static final class Node {
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private int size;
+        private int count;
+        private int max;
+        private Map<String, Integer> names;
+
+        private void refreshMax() {
+            int result = 0;
+            if (names != null) {
+                for (int count : names.values()) {
+                    result = Math.max(result, count);
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                result = Math.max(result, children[i].max);
+            }
+            max = result;
+        }
+
+        private Node child(char key) {
+            int position = Arrays.binarySearch(keys, 0, size, key);
+            return position >= 0 ? children[position] : null;
+        }
+
+        private Node childOrCreate(char key) {
+            int position = Arrays.binarySearch(keys, 0, size, key);
+            if (position >= 0) {
+                return children[position];
+            }
+            int insertion = -position - 1;
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, Math.max(2, size * 2));
+                children = Arrays.copyOf(children, keys.length);
+            }
+            System.arraycopy(keys, insertion, keys, insertion + 1, size - insertion);
+            System.arraycopy(children, insertion, children, insertion + 1, size - insertion);
+            Node child = new Node();
+            keys[insertion] = key;
+            children[insertion] = child;
+            size++;
+            return child;
+        }
+
+        private void removeChild(char key) {
+            int position = Arrays.binarySearch(keys, 0, size, key);
+            if (position < 0) {
+                return;
+            }
+            System.arraycopy(keys, position + 1, keys, position, size - position - 1);
+            System.arraycopy(children, position + 1, children, position, size - position - 1);
+            size--;
+            children[size] = null;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.item.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.item.dto.ItemText;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+@Component
+@Slf4j
+public class ItemSearchCache {
+    private final Cache<Key, List<ItemResponse>> entries;
+    private final AtomicLong generation = new AtomicLong();
+
+    public ItemSearchCache(MeterRegistry meterRegistry,
+                           @Value("${shareit.item.search-cache.max-size:1000}") long maxSize,
+                           @Value("${shareit.item.search-cache.ttl:60s}") Duration ttl) {
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, entries, "shareit.item.search.cache");
+    }
+
+    public List<ItemResponse> get(String text, String page, Supplier<List<ItemResponse>> loader) {
+        Key key = new Key(text.toLowerCase(Locale.ROOT), page);
+        long loadedGeneration = generation.get();
+        List<ItemResponse> items = entries.get(key, k -> List.copyOf(loader.get()));
+        if (loadedGeneration != generation.get()) {
+            entries.asMap().remove(key, items);
+        }
+        return items;
+    }
+
+    public void invalidate(ItemText before, ItemText after) {
+        if (before != null && after != null && before.equals(after)) {
+            return;
+        }
+        invalidateMatching(before, after);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidateMatching(before, after);
+                }
+            });
+        }
+    }
+
+    public long size() {
+        entries.cleanUp();
+        return entries.estimatedSize();
+    }
+
+    private void invalidateMatching(ItemText before, ItemText after) {
+        generation.incrementAndGet();
+        entries.asMap().keySet().removeIf(key -> {
+            boolean stale = matches(before, key.text()) || matches(after, key.text());
+            if (stale) {
+                log.debug("Server: Invalidated cached search results for text={}, page={}", key.text(), key.page());
+            }
+            return stale;
+        });
+    }
+
+    private static boolean matches(ItemText text, String key) {
+        return text != null && Boolean.TRUE.equals(text.available())
+                && (contains(text.name(), key) || contains(text.description(), key));
+    }
+
+    private static boolean contains(String field, String key) {
+        return field != null && field.toLowerCase(Locale.ROOT).contains(key);
+    }
+
+    private record Key(String text, String page) {
+    }
+}
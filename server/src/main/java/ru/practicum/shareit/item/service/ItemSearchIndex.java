@@ -0,0 +1,256 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.item.dto.ItemSearchCursor;
+import ru.practicum.shareit.item.dto.ItemText;
+import ru.practicum.shareit.item.dto.ItemView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Component
+@Slf4j
+public class ItemSearchIndex implements SmartInitializingSingleton {
+    private static final int GRAM_LENGTH = 3;
+    private static final int NAME_MATCH = 0;
+    private static final int DESCRIPTION_MATCH = 1;
+    private static final int NO_MATCH = 2;
+
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final DocumentTable documents = new DocumentTable();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ItemSearchIndex(ItemRepository itemRepository,
+                           @Value("${shareit.item.search-index.enabled:false}") boolean enabled) {
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        build();
+    }
+
+    /**
+     * Loads the index before the web server starts. The snapshot is read and applied under the write lock, so an
+     * update committed meanwhile waits and is applied on top of it rather than being overwritten.
+     */
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            List<ItemText> items = new ArrayList<>(itemRepository.findAvailableTexts());
+            items.sort(Comparator.comparing(ItemText::id));
+            postings.clear();
+            documents.clear();
+            items.forEach(this::put);
+            log.info("Server: Item search index built for {} items", items.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<ItemView> search(String text, int from, int size) {
+        if (!enabled) {
+            return itemRepository.findViewsByNameOrDescription(text, PageRequest.of(from / size, size));
+        }
+        int offset = (int) PageRequest.of(from / size, size).getOffset();
+        return load(findIds(text.toLowerCase(Locale.ROOT), null, offset, size));
+    }
+
+    public List<ItemView> search(String text, ItemSearchCursor after, int size) {
+        if (!enabled) {
+            return itemRepository.findViewsByNameOrDescriptionAfter(text, after.rank(), after.id(), Limit.of(size));
+        }
+        return load(findIds(text.toLowerCase(Locale.ROOT), after, 0, size));
+    }
+
+    public void index(Item item) {
+        if (!enabled) {
+            return;
+        }
+        ItemText text = new ItemText(item.getId(), item.getName(), item.getDescription(), item.getAvailable());
+        afterCommit(() -> update(text));
+    }
+
+    public void remove(long itemId) {
+        if (!enabled) {
+            return;
+        }
+        afterCommit(() -> update(new ItemText(itemId, null, null, false)));
+    }
+
+    /**
+     * Returns the ids of one page of matches: name matches before description matches, each in id order.
+     */
+    long[] findIds(String query, ItemSearchCursor after, int offset, int size) {
+        lock.readLock().lock();
+        try {
+            long[] candidates = candidates(query);
+            byte[] ranks = new byte[candidates.length];
+            for (int i = 0; i < candidates.length; i++) {
+                long id = candidates[i];
+                int rank = rank(documents.indexOf(id), query);
+                boolean seen = after != null && (rank < after.rank() || rank == after.rank() && id <= after.id());
+                ranks[i] = (byte) (seen ? NO_MATCH : rank);
+            }
+            long[] page = new long[Math.min(size, candidates.length)];
+            int count = 0;
+            int skipped = 0;
+            for (int rank = NAME_MATCH; rank < NO_MATCH && count < page.length; rank++) {
+                for (int i = 0; i < candidates.length && count < page.length; i++) {
+                    if (ranks[i] != rank) {
+                        continue;
+                    }
+                    if (skipped < offset) {
+                        skipped++;
+                    } else {
+                        page[count++] = candidates[i];
+                    }
+                }
+            }
+            return Arrays.copyOf(page, count);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    void update(ItemText text) {
+        lock.writeLock().lock();
+        try {
+            delete(text.id());
+            put(text);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private long[] candidates(String query) {
+        if (query.length() < GRAM_LENGTH) {
+            return documents.ids();
+        }
+        List<PostingList> lists = new ArrayList<>();
+        for (String gram : grams(query)) {
+            PostingList list = postings.get(gram);
+            if (list == null) {
+                return new long[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+        long[] result = lists.get(0).toArray();
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            result = lists.get(i).retainAll(result);
+        }
+        return result;
+    }
+
+    private void put(ItemText text) {
+        if (!Boolean.TRUE.equals(text.available())) {
+            return;
+        }
+        documents.put(text.id(), text.name(), text.description());
+        for (String gram : grams(text.name(), text.description())) {
+            postings.computeIfAbsent(gram, key -> new PostingList()).add(text.id());
+        }
+    }
+
+    private void delete(long itemId) {
+        int position = documents.indexOf(itemId);
+        if (position < 0) {
+            return;
+        }
+        Set<String> grams = grams(documents.name(position), documents.description(position));
+        documents.removeAt(position);
+        for (String gram : grams) {
+            PostingList list = postings.get(gram);
+            list.remove(itemId);
+            if (list.isEmpty()) {
+                postings.remove(gram);
+            }
+        }
+    }
+
+    private static Set<String> grams(String... fields) {
+        Set<String> grams = new HashSet<>();
+        for (String field : fields) {
+            if (field == null) {
+                continue;
+            }
+            String key = field.toLowerCase(Locale.ROOT);
+            for (int i = 0; i + GRAM_LENGTH <= key.length(); i++) {
+                grams.add(key.substring(i, i + GRAM_LENGTH));
+            }
+        }
+        return grams;
+    }
+
+    private List<ItemView> load(long[] ids) {
+        if (ids.length == 0) {
+            return List.of();
+        }
+        Map<Long, ItemView> views = itemRepository.findAvailableViewsByIdIn(Arrays.stream(ids).boxed().toList()).stream()
+                .collect(Collectors.toMap(ItemView::id, Function.identity()));
+        return Arrays.stream(ids)
+                .mapToObj(views::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    private int rank(int position, String query) {
+        if (containsIgnoreCase(documents.name(position), query)) {
+            return NAME_MATCH;
+        }
+        return containsIgnoreCase(documents.description(position), query) ? DESCRIPTION_MATCH : NO_MATCH;
+    }
+
+    private static boolean containsIgnoreCase(String field, String query) {
+        if (field == null) {
+            return false;
+        }
+        for (int i = 0; i + query.length() <= field.length(); i++) {
+            if (field.regionMatches(true, i, query, 0, query.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
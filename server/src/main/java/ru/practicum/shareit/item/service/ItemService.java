@@ -4,21 +4,29 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentResponse;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.item.dto.ItemSearchCursor;
+import ru.practicum.shareit.item.enums.ItemSort;
 
 import java.util.List;
 
 public interface ItemService {
     ItemResponse getItem(long itemId);
 
+    long getItemVersion(long itemId);
+
     ItemResponse createItem(long userId, ItemDto request);
 
     ItemResponse patchItem(long itemId, long userId, ItemDto request);
 
     void deleteItem(long itemId, long userId);
 
-    List<ItemResponse> getItemsForUser(long userId);
+    List<ItemResponse> getItemsForUser(long userId, ItemSort sort);
+
+    List<ItemResponse> getBySearch(String text, int from, int size, ItemSort sort);
+
+    List<ItemResponse> getBySearch(String text, ItemSearchCursor after, int size);
 
-    List<ItemResponse> getBySearch(String text);
+    List<String> getSuggestions(String prefix, int size);
 
     CommentResponse createComment(long itemId, long bookerId, CommentDto commentDTO);
 }
\ No newline at end of file
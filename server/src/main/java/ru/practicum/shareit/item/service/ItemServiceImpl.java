@@ -2,9 +2,15 @@ package ru.practicum.shareit.item.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.ItemBookingView;
 import ru.practicum.shareit.booking.enums.BookingState;
+import ru.practicum.shareit.booking.enums.Status;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.repository.BookingRepository;
@@ -13,8 +19,13 @@ import ru.practicum.shareit.exception.NoPermissionException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentResponse;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.item.dto.ItemSearchCursor;
+import ru.practicum.shareit.item.dto.ItemText;
+import ru.practicum.shareit.item.dto.ItemView;
+import ru.practicum.shareit.item.enums.ItemSort;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Comment;
@@ -24,11 +35,15 @@ import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserCache;
 
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -36,13 +51,18 @@ import java.util.List;
 @Slf4j
 public class ItemServiceImpl implements ItemService {
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
+    private final UserCache userCache;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
     private final ItemMapper itemMapper;
     private final CommentMapper commentMapper;
     private final BookingMapper bookingMapper;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemSearchCache itemSearchCache;
+    private final ItemNameTrie itemNameTrie;
+    @Value("${shareit.item.comments-per-item:10}")
+    private int commentsPerItem;
 
     @Override
     @Transactional(readOnly = true)
@@ -57,18 +77,63 @@ public class ItemServiceImpl implements ItemService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<ItemResponse> getItemsForUser(long userId) {
+    public long getItemVersion(long itemId) {
+        return itemRepository.findVersionById(itemId)
+                .orElseThrow(() -> new NotFoundException("Предмет с ID = " + itemId + " не найден"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemResponse> getItemsForUser(long userId, ItemSort sort) {
         log.info("Server: Method getItemsForUser begin");
-        List<Item> items = itemRepository.findAllByOwnerId(userId);
-        return itemMapper.toItemResponseList(items);
+        List<ItemView> items = sort == ItemSort.POPULARITY
+                ? itemRepository.findPopularViewsByOwnerId(userId)
+                : itemRepository.findViewsByOwnerId(userId);
+        if (items.isEmpty()) {
+            return List.of();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, BookingResponse> lastBookings = new HashMap<>();
+        Map<Long, BookingResponse> nextBookings = new HashMap<>();
+        for (ItemBookingView booking : bookingRepository.findLastAndNextByOwnerId(userId, Status.APPROVED, now)) {
+            Map<Long, BookingResponse> target = booking.start().isAfter(now) ? nextBookings : lastBookings;
+            target.put(booking.itemId(), bookingMapper.toBookingResponse(booking));
+        }
+        Map<Long, List<CommentResponse>> comments = findComments(items);
+        return items.stream()
+                .map(item -> itemMapper.toItemResponse(item,
+                        lastBookings.get(item.id()),
+                        nextBookings.get(item.id()),
+                        comments.getOrDefault(item.id(), List.of())))
+                .toList();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ItemResponse> getBySearch(String text) {
+    public List<ItemResponse> getBySearch(String text, int from, int size, ItemSort sort) {
         log.info("Server: Method getBySearch begin");
-        List<Item> items = itemRepository.findAllByNameOrDescription(text);
-        return itemMapper.toItemResponseList(items);
+        if (sort == ItemSort.POPULARITY) {
+            // Popularity pages reorder whenever rent or comment counters change, so they are not cached
+            return toItemResponsesWithComments(
+                    itemRepository.findPopularViewsByNameOrDescription(text, PageRequest.of(from / size, size)));
+        }
+        return itemSearchCache.get(text, "from=" + from + ",size=" + size,
+                () -> toItemResponsesWithComments(itemSearchIndex.search(text, from, size)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemResponse> getBySearch(String text, ItemSearchCursor after, int size) {
+        log.info("Server: Method getBySearch after cursor begin");
+        return itemSearchCache.get(text, "after=" + after.rank() + "," + after.id() + ",size=" + size,
+                () -> toItemResponsesWithComments(itemSearchIndex.search(text, after, size)));
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<String> getSuggestions(String prefix, int size) {
+        log.info("Server: Method getSuggestions begin");
+        return itemNameTrie.suggest(prefix, size);
     }
 
     @Override
@@ -84,6 +149,8 @@ public class ItemServiceImpl implements ItemService {
             comment.setAuthor(booker);
             comment.setCreated(Timestamp.from(Instant.now()));
             comment = commentRepository.save(comment);
+            itemRepository.incrementCommentCount(item.getId());
+            itemSearchCache.invalidate(itemMapper.toItemText(item), null);
             return commentMapper.toCommentResponse(comment);
         } else {
             throw new LeaveCommentException("Вы не можете оставить комментарий");
@@ -93,24 +160,27 @@ public class ItemServiceImpl implements ItemService {
     @Override
     public ItemResponse createItem(long userId, ItemDto request) {
         log.info("Server: Method createItem begin");
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с ID = " + userId + " не найден"));
+        User user = userCache.getReference(userId);
         Item item = itemMapper.toItem(request);
         item.setOwner(user);
         if (request.getRequestId() != null) {
             ItemRequest itemRequest = itemRequestRepository.findById(request.getRequestId())
                     .orElseThrow(() -> new NotFoundException("Запрос с ID = " + userId + " не найден"));
             item.setItemRequest(itemRequest);
+            itemRequestRepository.incrementVersion(itemRequest.getId());
         }
         itemRepository.save(item);
+        itemSearchIndex.index(item);
+        ItemText after = itemMapper.toItemText(item);
+        itemSearchCache.invalidate(null, after);
+        itemNameTrie.update(null, after);
         return itemMapper.toItemResponse(item);
     }
 
     @Override
     public ItemResponse patchItem(long itemId, long userId, ItemDto request) {
         log.info("Server: Method patchItem begin");
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с ID = " + userId + " не найден"));
+        userCache.get(userId);
 
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NotFoundException("Предмет с ID = " + itemId + " не найден"));
@@ -118,6 +188,7 @@ public class ItemServiceImpl implements ItemService {
         if (!item.getOwner().getId().equals(userId)) {
             throw new NoPermissionException("Недостаточно прав для данного запроса");
         }
+        ItemText before = itemMapper.toItemText(item);
 
         if (request.getName() != null)
             item.setName(request.getName());
@@ -127,6 +198,14 @@ public class ItemServiceImpl implements ItemService {
 
         if (request.getAvailable() != null)
             item.setAvailable(request.getAvailable());
+        itemRepository.incrementVersion(itemId);
+        if (item.getItemRequest() != null) {
+            itemRequestRepository.incrementVersion(item.getItemRequest().getId());
+        }
+        itemSearchIndex.index(item);
+        ItemText after = itemMapper.toItemText(item);
+        itemSearchCache.invalidate(before, after);
+        itemNameTrie.update(before, after);
         return itemMapper.toItemResponse(item);
     }
 
@@ -141,6 +220,33 @@ public class ItemServiceImpl implements ItemService {
         }
 
         itemRepository.deleteById(itemId);
+        if (item.getItemRequest() != null) {
+            itemRequestRepository.incrementVersion(item.getItemRequest().getId());
+        }
+        itemSearchIndex.remove(itemId);
+        ItemText before = itemMapper.toItemText(item);
+        itemSearchCache.invalidate(before, null);
+        itemNameTrie.update(before, null);
     }
 
-}
\ No newline at end of file
+    private List<ItemResponse> toItemResponsesWithComments(List<ItemView> items) {
+        Map<Long, List<CommentResponse>> comments = findComments(items);
+        return items.stream()
+                .map(item -> itemMapper.toItemResponse(item, null, null,
+                        comments.getOrDefault(item.id(), List.of())))
+                .toList();
+    }
+
+    private Map<Long, List<CommentResponse>> findComments(List<ItemView> items) {
+        if (items.isEmpty()) {
+            return Map.of();
+        }
+        List<Long> itemIds = items.stream().map(ItemView::id).toList();
+        Map<Long, List<CommentResponse>> comments = new HashMap<>();
+        for (CommentView comment : commentRepository.findLatestViewsByItemIdIn(itemIds, commentsPerItem)) {
+            comments.computeIfAbsent(comment.itemId(), id -> new ArrayList<>())
+                    .add(commentMapper.toCommentResponseFromView(comment));
+        }
+        return comments;
+    }
+}
@@ -0,0 +1,62 @@
+package ru.practicum.shareit.item.service;
+
+import java.util.Arrays;
+
+class PostingList {
+    private long[] ids = new long[4];
+    private int size;
+
+    void add(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            return;
+        }
+        int insertion = -position - 1;
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        System.arraycopy(ids, insertion, ids, insertion + 1, size - insertion);
+        ids[insertion] = id;
+        size++;
+    }
+
+    void remove(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0) {
+            return;
+        }
+        System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+        size--;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    long[] retainAll(long[] candidates) {
+        long[] result = new long[Math.min(candidates.length, size)];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < candidates.length && j < size) {
+            if (candidates[i] < ids[j]) {
+                i++;
+            } else if (candidates[i] > ids[j]) {
+                j++;
+            } else {
+                result[count++] = candidates[i];
+                i++;
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, count);
+    }
+}
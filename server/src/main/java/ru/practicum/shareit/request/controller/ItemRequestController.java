@@ -3,6 +3,8 @@ package ru.practicum.shareit.request.controller;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.request.dto.ItemRequestCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponse;
 import ru.practicum.shareit.request.dto.ItemRequestWithItems;
@@ -20,8 +22,11 @@ public class ItemRequestController {
     public static final String X_SHARER_USER_ID = "X-Sharer-User-Id";
 
     @GetMapping("/{itemRequestId}")
-    public ItemRequestWithItems getItemRequest(@PathVariable Long itemRequestId) {
+    public ItemRequestWithItems getItemRequest(@PathVariable Long itemRequestId, WebRequest webRequest) {
         log.info("Server received: Get itemRequest with id={}", itemRequestId);
+        if (webRequest.checkNotModified(String.valueOf(itemRequestService.getItemRequestVersion(itemRequestId)))) {
+            return null;
+        }
         return itemRequestService.getItemRequest(itemRequestId);
     }
 
@@ -54,8 +59,14 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public List<ItemRequestResponse> getItemRequestForOther(@RequestHeader(X_SHARER_USER_ID) Long userId) {
-        log.info("Server received: Get other user's itemRequests for user with id={}", userId);
-        return itemRequestService.getItemRequestForOther(userId);
+    public List<ItemRequestResponse> getItemRequestForOther(@RequestHeader(X_SHARER_USER_ID) Long userId,
+                                                            @RequestParam(name = "from", defaultValue = "0") Integer from,
+                                                            @RequestParam(name = "size", defaultValue = "10") Integer size,
+                                                            @RequestParam(name = "after", required = false) String after) {
+        log.info("Server received: Get other user's itemRequests for user with id={}, from={}, size={}, after={}", userId, from, size, after);
+        if (after != null) {
+            return itemRequestService.getItemRequestForOther(userId, ItemRequestCursor.from(after), size);
+        }
+        return itemRequestService.getItemRequestForOther(userId, from, size);
     }
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package ru.practicum.shareit.request.dto;
+
+import ru.practicum.shareit.util.CursorToken;
+
+import java.time.LocalDateTime;
+
+public record ItemRequestCursor(
+        LocalDateTime created,
+        long id
+) {
+    public static ItemRequestCursor from(String token) {
+        return CursorToken.parse(token, LocalDateTime::parse, ItemRequestCursor::new);
+    }
+}
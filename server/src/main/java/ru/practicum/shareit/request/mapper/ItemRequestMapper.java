@@ -3,7 +3,9 @@ package ru.practicum.shareit.request.mapper;
 import org.mapstruct.Mapper;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponse;
+import ru.practicum.shareit.request.dto.ItemRequestView;
 import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.dto.UserResponse;
 
 import java.util.List;
 
@@ -15,4 +17,15 @@ public interface ItemRequestMapper {
     List<ItemRequestResponse> toItemRequestResponseList(List<ItemRequest> itemRequests);
 
     ItemRequest toItemRequest(ItemRequestDto itemRequestDto);
+
+    List<ItemRequestResponse> toItemRequestResponsesFromViews(List<ItemRequestView> views);
+
+    default ItemRequestResponse toItemRequestResponse(ItemRequestView view) {
+        return new ItemRequestResponse(
+                view.id(),
+                view.description(),
+                new UserResponse(view.requestorId(), view.requestorName(), view.requestorEmail()),
+                view.created()
+        );
+    }
 }
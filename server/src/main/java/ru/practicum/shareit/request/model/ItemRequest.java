@@ -20,8 +20,10 @@ public class ItemRequest {
     @Column(name = "description")
     String description;
     @JoinColumn(name = "requestor_id")
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     User requestor;
     @Column(name = "created")
     LocalDateTime created;
+    @Column(name = "version", insertable = false, updatable = false)
+    Long version;
 }
@@ -1,14 +1,50 @@
 package ru.practicum.shareit.request.repository;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.request.dto.ItemRequestView;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    List<ItemRequest> findAllByRequestor_Id(Long userId);
+    String ITEM_REQUEST_VIEW = "SELECT new ru.practicum.shareit.request.dto.ItemRequestView(r.id, r.description, " +
+            "r.created, u.id, u.name, u.email) " +
+            "FROM ItemRequest AS r " +
+            "JOIN r.requestor AS u ";
 
-    List<ItemRequest> findAllByRequestor_IdNot(Long userId);
+    @Override
+    @EntityGraph(attributePaths = {"requestor"})
+    Optional<ItemRequest> findById(Long id);
+
+    @Query(ITEM_REQUEST_VIEW + "WHERE u.id = ?1 ORDER BY r.created DESC, r.id DESC")
+    List<ItemRequestView> findViewsByRequestorId(Long userId);
+
+    @Query(ITEM_REQUEST_VIEW + "WHERE u.id <> ?1 ORDER BY r.created DESC, r.id DESC")
+    List<ItemRequestView> findViewsByRequestorIdNot(Long userId, Pageable pageable);
+
+    @Query(ITEM_REQUEST_VIEW +
+            "WHERE u.id <> ?1 " +
+            "AND (r.created < ?2 OR (r.created = ?2 AND r.id < ?3)) " +
+            "ORDER BY r.created DESC, r.id DESC")
+    List<ItemRequestView> findViewsByRequestorIdNotAfter(Long userId, LocalDateTime created, Long id, Limit limit);
+
+    @Query("SELECT r.version FROM ItemRequest AS r WHERE r.id = ?1")
+    Optional<Long> findVersionById(Long itemRequestId);
+
+    @Modifying
+    @Query("UPDATE ItemRequest AS r SET r.version = r.version + 1 WHERE r.id = ?1")
+    int incrementVersion(Long itemRequestId);
+
+    @Modifying
+    @Query("UPDATE ItemRequest AS r SET r.version = r.version + 1 WHERE r.requestor.id = ?1")
+    int incrementVersionByRequestorId(Long requestorId);
 }
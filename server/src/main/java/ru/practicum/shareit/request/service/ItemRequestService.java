@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request.service;
 
+import ru.practicum.shareit.request.dto.ItemRequestCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponse;
 import ru.practicum.shareit.request.dto.ItemRequestWithItems;
@@ -9,9 +10,13 @@ import java.util.List;
 public interface ItemRequestService {
     ItemRequestWithItems getItemRequest(Long id);
 
+    long getItemRequestVersion(Long id);
+
     List<ItemRequestWithItems> getItemRequestForRequestor(Long userId);
 
-    List<ItemRequestResponse> getItemRequestForOther(Long userId);
+    List<ItemRequestResponse> getItemRequestForOther(Long userId, int from, int size);
+
+    List<ItemRequestResponse> getItemRequestForOther(Long userId, ItemRequestCursor after, int size);
 
     ItemRequestResponse createItemRequest(Long userId, ItemRequestDto request);
 
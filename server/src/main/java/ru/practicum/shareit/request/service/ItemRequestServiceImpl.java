@@ -2,25 +2,30 @@ package ru.practicum.shareit.request.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NoPermissionException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.item.dto.ItemShortResponse;
+import ru.practicum.shareit.item.dto.RequestedItemView;
 import ru.practicum.shareit.item.mapper.ItemMapper;
-import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.dto.ItemRequestCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponse;
+import ru.practicum.shareit.request.dto.ItemRequestView;
 import ru.practicum.shareit.request.dto.ItemRequestWithItems;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserCache;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -28,8 +33,8 @@ import java.util.List;
 @Slf4j
 public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
-    private final UserRepository userRepository;
     private final ItemRepository itemRepository;
+    private final UserCache userCache;
     private final ItemRequestMapper itemRequestMapper;
     private final ItemMapper itemMapper;
 
@@ -40,53 +45,59 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         ItemRequestResponse response = itemRequestRepository.findById(id)
                 .map(itemRequestMapper::toItemRequestResponse)
                 .orElseThrow(() -> new NotFoundException("Запрашиваемый предмет с ID = " + id + " не найден"));
-        List<Item> items = itemRepository.findAllByItemRequest_Id(id);
+        List<ItemShortResponse> items = itemRepository.findShortByItemRequestId(id);
         return new ItemRequestWithItems(
                 response.id(),
                 response.description(),
                 response.requestor(),
                 response.created(),
-                itemMapper.toItemShortResponses(items)
+                items
         );
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public long getItemRequestVersion(Long id) {
+        return itemRequestRepository.findVersionById(id)
+                .orElseThrow(() -> new NotFoundException("Запрашиваемый предмет с ID = " + id + " не найден"));
+    }
+
     @Override
     @Transactional(readOnly = true)
     public List<ItemRequestWithItems> getItemRequestForRequestor(Long userId) {
         log.info("Server: Method getItemRequestForRequestor begin");
-        List<ItemRequestResponse> responseItems =
-                itemRequestMapper.toItemRequestResponseList(itemRequestRepository.findAllByRequestor_Id(userId));
-        List<Long> itemIds = new ArrayList<>();
-        for (ItemRequestResponse i : responseItems) {
-            itemIds.add(i.id());
-        }
-        List<Item> items = itemRepository.findAllByItemRequest_IdIn(itemIds);
-        List<ItemRequestWithItems> response = new ArrayList<>();
-        for (ItemRequestResponse i : responseItems) {
-            List<ItemShortResponse> itemResponses = new ArrayList<>();
-            for (Item item : items) {
-                if (item.getItemRequest().getId().equals(i.id())) {
-                    itemResponses.add(itemMapper.toItemShortResponse(item));
-                }
-            }
-            response.add(new ItemRequestWithItems(i.id(), i.description(), i.requestor(), i.created(), itemResponses));
-        }
-        return response;
+        Map<Long, List<ItemShortResponse>> itemsByRequest = itemRepository.findRequestedByRequestorId(userId).stream()
+                .collect(Collectors.groupingBy(RequestedItemView::requestId,
+                        Collectors.mapping(itemMapper::toItemShortResponseFromView, Collectors.toList())));
+        return itemRequestRepository.findViewsByRequestorId(userId).stream()
+                .map(itemRequestMapper::toItemRequestResponse)
+                .map(i -> new ItemRequestWithItems(i.id(), i.description(), i.requestor(), i.created(),
+                        itemsByRequest.getOrDefault(i.id(), List.of())))
+                .toList();
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<ItemRequestResponse> getItemRequestForOther(Long userId) {
+    public List<ItemRequestResponse> getItemRequestForOther(Long userId, int from, int size) {
         log.info("Server: Method getItemRequestForOther begin");
-        List<ItemRequest> itemRequests = itemRequestRepository.findAllByRequestor_IdNot(userId);
-        return itemRequestMapper.toItemRequestResponseList(itemRequests);
+        List<ItemRequestView> itemRequests = itemRequestRepository.findViewsByRequestorIdNot(userId,
+                PageRequest.of(from > 0 ? from / size : 0, size));
+        return itemRequestMapper.toItemRequestResponsesFromViews(itemRequests);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ItemRequestResponse> getItemRequestForOther(Long userId, ItemRequestCursor after, int size) {
+        log.info("Server: Method getItemRequestForOther after cursor begin");
+        List<ItemRequestView> itemRequests = itemRequestRepository.findViewsByRequestorIdNotAfter(userId,
+                after.created(), after.id(), Limit.of(size));
+        return itemRequestMapper.toItemRequestResponsesFromViews(itemRequests);
     }
 
     @Override
     public ItemRequestResponse createItemRequest(Long userId, ItemRequestDto request) {
         log.info("Server: Method createItemRequest begin");
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с ID = " + userId + " не найден"));
+        User user = userCache.getReference(userId);
         ItemRequest itemRequest = itemRequestMapper.toItemRequest(request);
         itemRequest.setRequestor(user);
         itemRequestRepository.save(itemRequest);
@@ -96,8 +107,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     public ItemRequestResponse patchItemRequest(Long itemRequestId, Long userId, ItemRequestDto request) {
         log.info("Server: Method patchItemRequest begin");
-        userRepository.findById(userId)
-                .orElseThrow(() -> new NotFoundException("Пользователь с ID = " + userId + " не найден"));
+        userCache.get(userId);
 
         ItemRequest itemRequest = itemRequestRepository.findById(itemRequestId)
                 .orElseThrow(() -> new NotFoundException("Запрашиваемый предмет с ID = " + request.getId() + " не найден"));
@@ -109,6 +119,8 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         if (request.getDescription() != null) {
             itemRequest.setDescription(request.getDescription());
         }
+        itemRequestRepository.incrementVersion(itemRequestId);
+        itemRepository.incrementVersionByItemRequestId(itemRequestId);
         return itemRequestMapper.toItemRequestResponse(itemRequest);
     }
 
@@ -1,12 +1,20 @@
 package ru.practicum.shareit.user.controller;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserImportResult;
 import ru.practicum.shareit.user.dto.UserResponse;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
 
 @RestController
 @RequestMapping(path = "/users")
@@ -14,6 +22,7 @@ import ru.practicum.shareit.user.service.UserService;
 @Slf4j
 public class UserController {
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/{userId}")
     public UserResponse getUser(@PathVariable Long userId) {
@@ -27,6 +36,14 @@ public class UserController {
         return userService.createUser(request);
     }
 
+    @PostMapping(path = "/import", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public List<UserImportResult> importUsers(InputStream body) throws IOException {
+        log.info("Server received: Import users");
+        try (MappingIterator<UserDto> rows = objectMapper.readerFor(UserDto.class).readValues(body)) {
+            return userService.importUsers(rows);
+        }
+    }
+
     @PatchMapping("/{userId}")
     public UserResponse patchUser(@PathVariable Long userId, @RequestBody UserDto request) {
         log.info("Server received: Patch user={} with id={}", request, userId);
@@ -0,0 +1,12 @@
+package ru.practicum.shareit.user.dto;
+
+import ru.practicum.shareit.user.enums.ImportStatus;
+
+public record UserImportResult(
+        int row,
+        Long id,
+        String email,
+        ImportStatus status,
+        String error
+) {
+}
@@ -0,0 +1,7 @@
+package ru.practicum.shareit.user.enums;
+
+public enum ImportStatus {
+    CREATED,
+    DUPLICATE,
+    INVALID
+}
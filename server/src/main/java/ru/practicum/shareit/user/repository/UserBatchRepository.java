@@ -0,0 +1,10 @@
+package ru.practicum.shareit.user.repository;
+
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+
+public interface UserBatchRepository {
+
+    List<Long> insertAll(List<User> users);
+}
@@ -1,13 +1,22 @@
 package ru.practicum.shareit.user.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.user.model.User;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserBatchRepository {
 
     Optional<User> findByEmailEqualsIgnoreCase(String email);
+
+    @Query("SELECT u.email FROM User AS u")
+    List<String> findAllEmails();
+
+    @Query("SELECT LOWER(u.email) FROM User AS u WHERE LOWER(u.email) IN ?1")
+    List<String> findExistingEmails(Collection<String> emails);
 }
@@ -0,0 +1,212 @@
+package ru.practicum.shareit.user.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter of normalized user emails. A negative answer means the email is definitely not taken,
+ * so the uniqueness query can be skipped; the unique index on lower(email) remains the final guard.
+ * <p>
+ * Emails added before the first build completes are queued and replayed into it. When the filter saturates, a
+ * single larger filter is rebuilt in the background while the old one keeps answering; emails added during the
+ * rebuild are replayed into the new filter after the swap.
+ */
+@Component
+@Slf4j
+public class EmailBloomFilter implements SmartInitializingSingleton {
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final int expectedInsertions;
+    private final double falsePositiveRate;
+    private final Counter skipped;
+    private final Counter checked;
+    private final Executor rebuildExecutor;
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final Queue<String> addedDuringRebuild = new ConcurrentLinkedQueue<>();
+    private volatile Bits bits;
+
+    @Autowired
+    public EmailBloomFilter(UserRepository userRepository,
+                            MeterRegistry meterRegistry,
+                            @Value("${shareit.user.email-filter.enabled:false}") boolean enabled,
+                            @Value("${shareit.user.email-filter.expected-insertions:100000}") int expectedInsertions,
+                            @Value("${shareit.user.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this(userRepository, meterRegistry, enabled, expectedInsertions, falsePositiveRate,
+                task -> Thread.ofVirtual().name("email-filter-rebuild").start(task));
+    }
+
+    public EmailBloomFilter(UserRepository userRepository,
+                            MeterRegistry meterRegistry,
+                            boolean enabled,
+                            int expectedInsertions,
+                            double falsePositiveRate,
+                            Executor rebuildExecutor) {
+        this.userRepository = userRepository;
+        this.rebuildExecutor = rebuildExecutor;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+        this.skipped = meterRegistry.counter("shareit.user.email-filter", "result", "skipped");
+        this.checked = meterRegistry.counter("shareit.user.email-filter", "result", "checked");
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        build();
+    }
+
+    public void build() {
+        if (!enabled) {
+            return;
+        }
+        Bits built = load(expectedInsertions);
+        bits = built;
+        replayAddedDuringRebuild(built);
+    }
+
+    public boolean mightContain(String email) {
+        Bits current = bits;
+        if (current == null || current.mightContain(normalize(email))) {
+            checked.increment();
+            return true;
+        }
+        skipped.increment();
+        return false;
+    }
+
+    public void add(String email) {
+        if (!enabled) {
+            return;
+        }
+        String normalized = normalize(email);
+        Bits current = bits;
+        if (current == null) {
+            // Not built yet: the build replays the queue once it has swapped the filter in
+            addedDuringRebuild.add(normalized);
+            Bits built = bits;
+            if (built != null) {
+                built.put(normalized);
+            }
+            return;
+        }
+        current.put(normalized);
+        if (current.isSaturated() && rebuilding.compareAndSet(false, true)) {
+            addedDuringRebuild.add(normalized);
+            log.info("Server: Email filter reached its capacity of {} emails, rebuilding", current.capacity);
+            rebuildExecutor.execute(() -> rebuild(current.capacity * 2));
+        } else if (rebuilding.get()) {
+            addedDuringRebuild.add(normalized);
+        }
+        Bits latest = bits;
+        if (latest != current) {
+            latest.put(normalized);
+        }
+    }
+
+    private void rebuild(int capacity) {
+        try {
+            Bits rebuilt = load(capacity);
+            bits = rebuilt;
+            replayAddedDuringRebuild(rebuilt);
+        } catch (RuntimeException e) {
+            log.warn("Server: Email filter rebuild failed, keeping the saturated filter", e);
+        } finally {
+            rebuilding.set(false);
+        }
+        // Adds that saw the flag just before it was cleared may have queued after the replay
+        replayAddedDuringRebuild(bits);
+    }
+
+    private void replayAddedDuringRebuild(Bits target) {
+        String email;
+        while ((email = addedDuringRebuild.poll()) != null) {
+            target.put(email);
+        }
+    }
+
+    private Bits load(int capacity) {
+        List<String> emails = userRepository.findAllEmails();
+        Bits loaded = new Bits(Math.max(capacity, emails.size() * 2), falsePositiveRate);
+        emails.forEach(email -> loaded.put(normalize(email)));
+        log.info("Server: Email filter built for {} users", emails.size());
+        return loaded;
+    }
+
+    private static String normalize(String email) {
+        return email.toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Bits {
+        private final AtomicLongArray words;
+        private final long size;
+        private final int hashes;
+        private final int capacity;
+        private final AtomicInteger insertions = new AtomicInteger();
+
+        Bits(int capacity, double falsePositiveRate) {
+            long optimalSize = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) Math.max(1, (optimalSize + 63) / 64));
+            this.size = words.length() * 64L;
+            this.hashes = Math.max(1, (int) Math.round((double) size / capacity * Math.log(2)));
+            this.capacity = capacity;
+        }
+
+        void put(String value) {
+            long hash = hash(value);
+            int low = (int) hash;
+            int high = (int) (hash >>> 32);
+            for (int i = 1; i <= hashes; i++) {
+                long bit = Integer.toUnsignedLong(low + i * high) % size;
+                int word = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long current = words.get(word);
+                while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                    current = words.get(word);
+                }
+            }
+            insertions.incrementAndGet();
+        }
+
+        boolean mightContain(String value) {
+            long hash = hash(value);
+            int low = (int) hash;
+            int high = (int) (hash >>> 32);
+            for (int i = 1; i <= hashes; i++) {
+                long bit = Integer.toUnsignedLong(low + i * high) % size;
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        boolean isSaturated() {
+            return insertions.get() > capacity;
+        }
+
+        private static long hash(String value) {
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < value.length(); i++) {
+                hash = (hash ^ value.charAt(i)) * 0x100000001b3L;
+            }
+            hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+            hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+            return hash ^ (hash >>> 33);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.dto.UserResponse;
+import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Component
+public class UserCache {
+    private final UserRepository userRepository;
+    private final UserMapper userMapper;
+    private final Cache<Long, Optional<UserResponse>> users;
+
+    public UserCache(UserRepository userRepository,
+                     UserMapper userMapper,
+                     MeterRegistry meterRegistry,
+                     @Value("${shareit.user.cache.max-size:10000}") long maxSize,
+                     @Value("${shareit.user.cache.ttl:10m}") Duration ttl,
+                     @Value("${shareit.user.cache.negative-ttl:30s}") Duration negativeTtl) {
+        this.userRepository = userRepository;
+        this.userMapper = userMapper;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<Long, Optional<UserResponse>>() {
+                    @Override
+                    public long expireAfterCreate(Long userId, Optional<UserResponse> user, long currentTime) {
+                        return (user.isPresent() ? ttl : negativeTtl).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Long userId, Optional<UserResponse> user, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(userId, user, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(Long userId, Optional<UserResponse> user, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, users, "shareit.user.cache");
+    }
+
+    public UserResponse get(long userId) {
+        return users.get(userId, id -> userRepository.findById(id).map(userMapper::toUserResponse))
+                .orElseThrow(() -> new NotFoundException("Пользователь с ID = " + userId + " не найден"));
+    }
+
+    public User getReference(long userId) {
+        get(userId);
+        return userRepository.getReferenceById(userId);
+    }
+
+    public void evict(long userId) {
+        users.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    users.invalidate(userId);
+                }
+            });
+        }
+    }
+}
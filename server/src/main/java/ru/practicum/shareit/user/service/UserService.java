@@ -1,8 +1,12 @@
 package ru.practicum.shareit.user.service;
 
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserImportResult;
 import ru.practicum.shareit.user.dto.UserResponse;
 
+import java.util.Iterator;
+import java.util.List;
+
 public interface UserService {
 
     UserResponse getUser(Long userId);
@@ -12,4 +16,6 @@ public interface UserService {
     UserResponse patchUser(UserDto request, Long userId);
 
     void deleteUser(Long userId);
+
+    List<UserImportResult> importUsers(Iterator<UserDto> rows);
 }
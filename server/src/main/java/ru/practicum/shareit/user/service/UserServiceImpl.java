@@ -1,40 +1,67 @@
 package ru.practicum.shareit.user.service;
 
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import ru.practicum.shareit.exception.MailAlreadyUserException;
 import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserImportResult;
 import ru.practicum.shareit.user.dto.UserResponse;
+import ru.practicum.shareit.user.enums.ImportStatus;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
     private final UserMapper userMapper;
+    private final UserCache userCache;
+    private final EmailBloomFilter emailBloomFilter;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    @Value("${shareit.user.import.batch-size:500}")
+    private int importBatchSize;
 
     @Override
     public UserResponse getUser(Long userId) {
         log.info("Server: Method getUser begin");
-        return userRepository.findById(userId)
-                .map(userMapper::toUserResponse)
-                .orElseThrow(() -> new NotFoundException("Пользователь с ID = " + userId + " не найден"));
+        return userCache.get(userId);
     }
 
     @Override
     public UserResponse createUser(UserDto request) {
         log.info("Server: Method createUser begin");
         checkSuchEmail(0L, request.getEmail());
-        User user = userRepository.save(userMapper.toUser(request));
+        User user = save(userMapper.toUser(request));
+        userCache.evict(user.getId());
         return userMapper.toUserResponse(user);
     }
 
     @Override
+    @Transactional
     public UserResponse patchUser(UserDto request, Long userId) {
         log.info("Server: Method patchUser begin");
         User user = null;
@@ -50,17 +77,139 @@ public class UserServiceImpl implements UserService {
 
         if (request.getEmail() != null)
             user.setEmail(request.getEmail());
-        user = userRepository.save(user);
+        user = save(user);
+        userCache.evict(userId);
+        itemRepository.incrementVersionByUserId(userId);
+        itemRequestRepository.incrementVersionByRequestorId(userId);
         return userMapper.toUserResponse(user);
     }
 
     @Override
+    @Transactional
     public void deleteUser(Long userId) {
         log.info("Server: Method deleteUser begin");
         userRepository.deleteById(userId);
+        userCache.evict(userId);
+    }
+
+    @Override
+    public List<UserImportResult> importUsers(Iterator<UserDto> rows) {
+        log.info("Server: Method importUsers begin");
+        List<UserImportResult> results = new ArrayList<>();
+        List<ImportRow> batch = new ArrayList<>(importBatchSize);
+        Set<String> seenEmails = new HashSet<>();
+        int row = 0;
+        while (true) {
+            UserDto request;
+            try {
+                if (!rows.hasNext()) {
+                    break;
+                }
+                request = rows.next();
+            } catch (RuntimeException e) {
+                log.warn("Server: Import stopped at unreadable row {}", row, e);
+                results.add(new UserImportResult(row, null, null, ImportStatus.INVALID, "Некорректная строка импорта"));
+                break;
+            }
+            String error = validate(request);
+            if (error != null) {
+                results.add(new UserImportResult(row, null, request.getEmail(), ImportStatus.INVALID, error));
+            } else if (!seenEmails.add(request.getEmail().toLowerCase(Locale.ROOT))) {
+                results.add(new UserImportResult(row, null, request.getEmail(), ImportStatus.DUPLICATE, "Почта уже используется"));
+            } else {
+                results.add(null);
+                batch.add(new ImportRow(row, userMapper.toUser(request)));
+                if (batch.size() == importBatchSize) {
+                    importBatch(batch, results);
+                }
+            }
+            row++;
+        }
+        importBatch(batch, results);
+        return results;
+    }
+
+    private String validate(UserDto request) {
+        if (request.getName() == null || request.getName().isBlank()) {
+            return "Необходимо указать имя";
+        }
+        Set<ConstraintViolation<UserDto>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(ConstraintViolation::getMessage)
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        return null;
+    }
+
+    private void importBatch(List<ImportRow> batch, List<UserImportResult> results) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Set<String> existing = new HashSet<>(userRepository.findExistingEmails(batch.stream()
+                .map(importRow -> importRow.user().getEmail().toLowerCase(Locale.ROOT))
+                .toList()));
+        List<ImportRow> fresh = new ArrayList<>(batch.size());
+        for (ImportRow importRow : batch) {
+            if (existing.contains(importRow.user().getEmail().toLowerCase(Locale.ROOT))) {
+                results.set(importRow.row(), new UserImportResult(importRow.row(), null, importRow.user().getEmail(),
+                        ImportStatus.DUPLICATE, "Почта уже используется"));
+            } else {
+                fresh.add(importRow);
+            }
+        }
+        try {
+            List<Long> ids = transactionTemplate.execute(status -> userRepository.insertAll(fresh.stream()
+                    .map(ImportRow::user)
+                    .toList()));
+            for (int i = 0; i < fresh.size(); i++) {
+                fresh.get(i).user().setId(ids.get(i));
+                created(fresh.get(i), results);
+            }
+        } catch (DataIntegrityViolationException e) {
+            log.warn("Server: Batch insert of {} users failed, importing them one by one", fresh.size());
+            for (ImportRow importRow : fresh) {
+                try {
+                    importRow.user().setId(null);
+                    save(importRow.user());
+                    created(importRow, results);
+                } catch (MailAlreadyUserException ex) {
+                    results.set(importRow.row(), new UserImportResult(importRow.row(), null,
+                            importRow.user().getEmail(), ImportStatus.DUPLICATE, ex.getMessage()));
+                }
+            }
+        }
+        batch.clear();
+    }
+
+    private void created(ImportRow importRow, List<UserImportResult> results) {
+        User user = importRow.user();
+        emailBloomFilter.add(user.getEmail());
+        userCache.evict(user.getId());
+        results.set(importRow.row(), new UserImportResult(importRow.row(), user.getId(), user.getEmail(),
+                ImportStatus.CREATED, null));
+    }
+
+    private User save(User user) {
+        try {
+            user = userRepository.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (e.getCause() instanceof ConstraintViolationException violation
+                    && violation.getConstraintName() != null
+                    && violation.getConstraintName().toLowerCase(Locale.ROOT).contains("email")) {
+                throw new MailAlreadyUserException("Почта уже используется");
+            }
+            throw e;
+        }
+        emailBloomFilter.add(user.getEmail());
+        return user;
     }
 
     private User checkSuchEmail(long userId, String email) {
+        if (!emailBloomFilter.mightContain(email)) {
+            return null;
+        }
         return userRepository.findByEmailEqualsIgnoreCase(email)
                 .map(user -> {
                     if (user.getId().equals(userId)) {
@@ -70,4 +219,7 @@ public class UserServiceImpl implements UserService {
                     }
                 }).orElse(null);
     }
-}
\ No newline at end of file
+
+    private record ImportRow(int row, User user) {
+    }
+}
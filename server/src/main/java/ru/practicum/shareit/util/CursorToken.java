@@ -0,0 +1,25 @@
+package ru.practicum.shareit.util;
+
+import ru.practicum.shareit.exception.InvalidCursorException;
+
+import java.time.format.DateTimeParseException;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+public interface CursorToken {
+    /**
+     * Parses a "key,id" cursor token, where key is the sort value of the last row on the previous page.
+     */
+    static <K, C> C parse(String token, Function<String, K> keyParser, BiFunction<K, Long, C> cursorFactory) {
+        int separator = token.lastIndexOf(',');
+        if (separator < 0) {
+            throw new InvalidCursorException("Некорректное значение after: " + token);
+        }
+        try {
+            return cursorFactory.apply(keyParser.apply(token.substring(0, separator).trim()),
+                    Long.parseLong(token.substring(separator + 1).trim()));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new InvalidCursorException("Некорректное значение after: " + token);
+        }
+    }
+}
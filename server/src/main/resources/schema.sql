@@ -41,4 +41,30 @@ CREATE TABLE IF NOT EXISTS comments (
     item_id BIGINT NOT NULL REFERENCES "items" (id),
     author_id BIGINT NOT NULL REFERENCES "users" (id),
     CONSTRAINT pk_comment PRIMARY KEY (id)
-);
\ No newline at end of file
+);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_dates ON bookings (item_id, status, start_date, end_date);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id);
+
+CREATE INDEX IF NOT EXISTS idx_items_item_request ON items (item_request_id);
+
+CREATE INDEX IF NOT EXISTS idx_item_requests_requestor_created ON item_requests (requestor_id, created DESC);
+
+CREATE INDEX IF NOT EXISTS idx_item_requests_created ON item_requests (created DESC, id DESC);
+
+CREATE INDEX IF NOT EXISTS idx_comments_item_created ON comments (item_id, created DESC);
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS comment_count INTEGER DEFAULT 0 NOT NULL;
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS rent_count INTEGER DEFAULT 0 NOT NULL;
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS last_rented_at TIMESTAMP WITHOUT TIME ZONE;
+
+ALTER TABLE items ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE item_requests ADD COLUMN IF NOT EXISTS version BIGINT DEFAULT 0 NOT NULL;
@@ -0,0 +1,148 @@
+package ru.practicum.shareit;
+
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.enums.BookingState;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.factory.ModelFactory;
+import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.item.enums.ItemSort;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestResponse;
+import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.user.dto.UserResponse;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+public class StatementCountTest {
+    private static final int COUNT = 3;
+    private final BookingService bookingService;
+    private final ItemService itemService;
+    private final ItemRequestService itemRequestService;
+    private final UserService userService;
+    private final EntityManager em;
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1);
+    private final LocalDateTime end = LocalDateTime.now().plusDays(2);
+    private final List<UserResponse> bookers = new ArrayList<>();
+    private final List<ItemResponse> items = new ArrayList<>();
+    private final List<ItemRequestResponse> requests = new ArrayList<>();
+    private UserResponse ownerResponse;
+    private BookingResponse bookingResponse;
+    private Statistics statistics;
+
+    @BeforeEach
+    void beforeEach() {
+        ownerResponse = userService.createUser(ModelFactory.createUserDto());
+        for (int i = 0; i < COUNT; i++) {
+            UserResponse requestor = userService.createUser(ModelFactory.createUserDto());
+            ItemRequestResponse request = itemRequestService.createItemRequest(requestor.id(), ModelFactory.createItemRequestDto());
+            requests.add(request);
+            items.add(itemService.createItem(ownerResponse.id(),
+                    ModelFactory.createItemDtoForRequest(ownerResponse.id(), request.id())));
+            bookers.add(userService.createUser(ModelFactory.createUserDto()));
+        }
+        for (UserResponse booker : bookers) {
+            for (ItemResponse item : items) {
+                bookingResponse = bookingService.createBooking(booker.id(),
+                        ModelFactory.createBookingDto(start, end, item.id(), Status.WAITING));
+                Comment comment = new Comment();
+                comment.setText("test");
+                comment.setCreated(Timestamp.from(Instant.now()));
+                comment.setItem(em.getReference(Item.class, item.id()));
+                comment.setAuthor(em.getReference(User.class, booker.id()));
+                em.persist(comment);
+            }
+        }
+        em.flush();
+        em.clear();
+        statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void testGetBookingsStatementCount() {
+        assertThat(bookingService.getBookings(bookers.get(0).id(), BookingState.ALL, 0, 10).size(), equalTo(COUNT));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+    }
+
+    @Test
+    void testGetBookingsForOwnerStatementCount() {
+        assertThat(bookingService.getBookingsForOwner(ownerResponse.id(), BookingState.ALL, 0, 10).size(), equalTo(COUNT * COUNT));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+    }
+
+    @Test
+    void testGetBookingForUserStatementCount() {
+        bookingService.getBookingForUser(bookingResponse.id(), ownerResponse.id());
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+    }
+
+    @Test
+    void testGetItemStatementCount() {
+        assertThat(itemService.getItem(items.get(0).id()).comments().size(), equalTo(COUNT));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+    }
+
+    @Test
+    void testGetItemsForUserStatementCount() {
+        List<ItemResponse> itemResponses = itemService.getItemsForUser(ownerResponse.id(), ItemSort.DEFAULT);
+        assertThat(itemResponses.size(), equalTo(COUNT));
+        assertThat(itemResponses.get(COUNT - 1).comments().size(), equalTo(COUNT));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(3L));
+    }
+
+    @Test
+    void testGetBySearchStatementCount() {
+        List<ItemResponse> itemResponses = itemService.getBySearch("testdescription", 0, COUNT, ItemSort.DEFAULT);
+        assertThat(itemResponses.get(COUNT - 1).comments().size(), equalTo(COUNT));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+    }
+
+    @Test
+    void testGetSuggestionsStatementCount() {
+        itemService.getSuggestions("test", 10);
+        assertThat(statistics.getPrepareStatementCount(), equalTo(0L));
+    }
+
+    @Test
+    void testGetItemRequestStatementCount() {
+        assertThat(itemRequestService.getItemRequest(requests.get(0).id()).items().size(), equalTo(1));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+    }
+
+    @Test
+    void testGetItemRequestForRequestorStatementCount() {
+        assertThat(itemRequestService.getItemRequestForRequestor(requests.get(0).requestor().id()).get(0).items().size(),
+                equalTo(1));
+        assertThat(statistics.getPrepareStatementCount(), equalTo(2L));
+    }
+
+    @Test
+    void testGetItemRequestForOtherStatementCount() {
+        itemRequestService.getItemRequestForOther(ownerResponse.id(), 0, COUNT);
+        assertThat(statistics.getPrepareStatementCount(), equalTo(1L));
+    }
+}
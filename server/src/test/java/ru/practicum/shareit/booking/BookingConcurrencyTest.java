@@ -0,0 +1,171 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.DateTimeAlreadyTakenException;
+import ru.practicum.shareit.factory.ModelFactory;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserResponse;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest
+public class BookingConcurrencyTest {
+    private static final int THREADS = 16;
+    private final BookingService bookingService;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final UserRepository userRepository;
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1);
+    private final LocalDateTime end = LocalDateTime.now().plusDays(2);
+    private final List<Long> userIds = new ArrayList<>();
+    private UserResponse ownerResponse;
+    private ItemResponse itemResponse;
+
+    @BeforeEach
+    void beforeEach() {
+        ownerResponse = userService.createUser(ModelFactory.createUserDto());
+        userIds.add(ownerResponse.id());
+        ItemDto itemDto = ModelFactory.createItemDto(ownerResponse.id());
+        itemDto.setName("concurrencyName");
+        itemDto.setDescription("concurrencyDescription");
+        itemResponse = itemService.createItem(ownerResponse.id(), itemDto);
+    }
+
+    @AfterEach
+    void afterEach() {
+        List<Booking> bookings = bookingRepository.findAllByItem_Id(itemResponse.id());
+        bookingRepository.deleteAll(bookings);
+        itemRepository.deleteById(itemResponse.id());
+        userRepository.deleteAllById(userIds);
+    }
+
+    @Test
+    void mustApproveOnlyOneOfConcurrentOverlappingBookings() throws Exception {
+        List<Callable<BookingResponse>> creates = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            UserResponse booker = userService.createUser(ModelFactory.createUserDto());
+            userIds.add(booker.id());
+            LocalDateTime bookingStart = start.plusMinutes(i);
+            creates.add(() -> {
+                BookingDto bookingDto = ModelFactory.createBookingDto(bookingStart, end, itemResponse.id(), Status.WAITING);
+                return bookingService.createBooking(booker.id(), bookingDto);
+            });
+        }
+        List<BookingResponse> created = new ArrayList<>();
+        for (Future<BookingResponse> future : runConcurrently(creates)) {
+            created.add(future.get());
+        }
+        assertThat(created.size(), equalTo(THREADS));
+
+        List<Callable<BookingResponse>> approvals = new ArrayList<>();
+        for (BookingResponse booking : created) {
+            approvals.add(() -> bookingService.acceptBooking(booking.id(), ownerResponse.id(), true));
+        }
+        int approved = 0;
+        int rejected = 0;
+        for (Future<BookingResponse> future : runConcurrently(approvals)) {
+            try {
+                future.get();
+                approved++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause().getClass(), equalTo(DateTimeAlreadyTakenException.class));
+                rejected++;
+            }
+        }
+        long approvedInDb = bookingRepository.findAllByItem_IdAndStatus(itemResponse.id(), Status.APPROVED).size();
+        assertThat(approved, equalTo(1));
+        assertThat(rejected, equalTo(THREADS - 1));
+        assertThat(approvedInDb, equalTo(1L));
+    }
+
+    @Test
+    void mustKeepOnlyOneOfConcurrentlyRescheduledApprovedBookings() throws Exception {
+        List<Callable<BookingResponse>> reschedules = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            UserResponse booker = userService.createUser(ModelFactory.createUserDto());
+            userIds.add(booker.id());
+            LocalDateTime bookingStart = end.plusDays(i + 1);
+            BookingResponse booking = bookingService.createBooking(booker.id(),
+                    ModelFactory.createBookingDto(bookingStart, bookingStart.plusHours(1), itemResponse.id(), Status.WAITING));
+            bookingService.acceptBooking(booking.id(), ownerResponse.id(), true);
+            reschedules.add(() -> {
+                BookingDto bookingDto = new BookingDto();
+                bookingDto.setStart(start);
+                bookingDto.setEnd(end);
+                return bookingService.patchBooking(booking.id(), booker.id(), bookingDto);
+            });
+        }
+        int rescheduled = 0;
+        int rejected = 0;
+        for (Future<BookingResponse> future : runConcurrently(reschedules)) {
+            try {
+                future.get();
+                rescheduled++;
+            } catch (ExecutionException e) {
+                assertThat(e.getCause().getClass(), equalTo(DateTimeAlreadyTakenException.class));
+                rejected++;
+            }
+        }
+        long approvedInWindow = bookingRepository.findAllByItem_IdAndStatus(itemResponse.id(), Status.APPROVED).stream()
+                .filter(booking -> booking.getStart().isBefore(end) && !booking.getEnd().isBefore(start))
+                .count();
+        assertThat(rescheduled, equalTo(1));
+        assertThat(rejected, equalTo(THREADS - 1));
+        assertThat(approvedInWindow, equalTo(1L));
+    }
+
+    private <T> List<Future<T>> runConcurrently(List<Callable<T>> tasks) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch startGate = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (Callable<T> task : tasks) {
+                futures.add(executor.submit(() -> {
+                    startGate.await();
+                    return task.call();
+                }));
+            }
+            startGate.countDown();
+            for (Future<T> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException ignored) {
+                    // результат проверяется вызывающей стороной
+                }
+            }
+            return futures;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -8,6 +8,7 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.controller.BookingController;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.enums.BookingState;
@@ -121,7 +122,7 @@ public class BookingControllerTest {
 
     @Test
     void testGetBookingsForOwner() throws Exception {
-        when(bookingService.getBookingsForOwner(eq(userId), eq(BookingState.ALL))).thenReturn(List.of(bookingResponse));
+        when(bookingService.getBookingsForOwner(eq(userId), eq(BookingState.ALL), eq(0), eq(10))).thenReturn(List.of(bookingResponse));
         mockMvc.perform(get("/bookings/owner")
                         .header("X-sharer-User-Id", userId)
                         .param("state", "ALL")
@@ -130,7 +131,7 @@ public class BookingControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.*", hasSize(1)));
-        verify(bookingService, times(1)).getBookingsForOwner(eq(userId), eq(BookingState.ALL));
+        verify(bookingService, times(1)).getBookingsForOwner(eq(userId), eq(BookingState.ALL), eq(0), eq(10));
     }
 
     @Test
@@ -148,4 +149,29 @@ public class BookingControllerTest {
                 .andExpect(jsonPath("$.*", hasSize(1)));
         verify(bookingService, times(1)).getBookings(eq(userId), eq(BookingState.ALL), eq(0), eq(10));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetBookingsAfterCursor() throws Exception {
+        BookingCursor cursor = new BookingCursor(LocalDateTime.of(2024, 12, 12, 1, 0), 5L);
+        when(bookingService.getBookings(eq(userId), eq(BookingState.ALL), eq(cursor), eq(10))).thenReturn(List.of(bookingResponse));
+        mockMvc.perform(get("/bookings")
+                        .header("X-sharer-User-Id", userId)
+                        .param("state", "ALL")
+                        .param("after", "2024-12-12T01:00:00,5")
+                        .param("size", "10")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.*", hasSize(1)));
+        verify(bookingService, times(1)).getBookings(eq(userId), eq(BookingState.ALL), eq(cursor), eq(10));
+    }
+
+    @Test
+    void mustReturnBadRequestForInvalidCursor() throws Exception {
+        mockMvc.perform(get("/bookings/owner")
+                        .header("X-sharer-User-Id", userId)
+                        .param("after", "yesterday")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        verifyNoInteractions(bookingService);
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervalIndex;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+public class BookingIntervalIndexTest {
+    private final LocalDateTime now = LocalDateTime.now();
+    private final Long itemId = 1L;
+    private final BookingRepository bookingRepository = mock(BookingRepository.class);
+    private final BookingIntervalIndex index = new BookingIntervalIndex(bookingRepository, true);
+
+    @Test
+    void mustFindIntersectionWithMergedIntervals() {
+        when(bookingRepository.findAllByItem_IdAndStatus(itemId, Status.APPROVED)).thenReturn(List.of(
+                createBooking(now.plusHours(5), now.plusHours(6)),
+                createBooking(now.plusHours(1), now.plusHours(3)),
+                createBooking(now.plusHours(2), now.plusHours(4))
+        ));
+
+        assertTrue(index.isTaken(itemId, now.plusHours(3).plusMinutes(30), now.plusHours(3).plusMinutes(40)));
+        assertTrue(index.isTaken(itemId, now, now.plusHours(10)));
+        assertTrue(index.isTaken(itemId, now.plusHours(6), now.plusHours(7)));
+        assertFalse(index.isTaken(itemId, now.plusHours(4).plusMinutes(1), now.plusHours(5)));
+        assertFalse(index.isTaken(itemId, now, now.plusHours(1)));
+        verify(bookingRepository, times(1)).findAllByItem_IdAndStatus(itemId, Status.APPROVED);
+    }
+
+    @Test
+    void mustReloadIntervalsAfterEvict() {
+        when(bookingRepository.findAllByItem_IdAndStatus(itemId, Status.APPROVED))
+                .thenReturn(List.of())
+                .thenReturn(List.of(createBooking(now.plusHours(1), now.plusHours(2))));
+
+        assertFalse(index.isTaken(itemId, now.plusHours(1), now.plusHours(2)));
+        index.evict(itemId);
+        assertTrue(index.isTaken(itemId, now.plusHours(1), now.plusHours(2)));
+        verify(bookingRepository, times(2)).findAllByItem_IdAndStatus(itemId, Status.APPROVED);
+    }
+
+    @Test
+    void mustQueryRepositoryWhenDisabled() {
+        BookingIntervalIndex disabled = new BookingIntervalIndex(bookingRepository, false);
+        when(bookingRepository.existsIntersection(itemId, Status.APPROVED, now, now.plusHours(1))).thenReturn(true);
+
+        assertTrue(disabled.isTaken(itemId, now, now.plusHours(1)));
+        verify(bookingRepository, never()).findAllByItem_IdAndStatus(any(), any());
+    }
+
+    private Booking createBooking(LocalDateTime start, LocalDateTime end) {
+        Booking booking = new Booking();
+        booking.setStart(start);
+        booking.setEnd(end);
+        booking.setStatus(Status.APPROVED);
+        return booking;
+    }
+}
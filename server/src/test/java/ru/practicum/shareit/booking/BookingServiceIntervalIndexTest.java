@@ -0,0 +1,63 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.enums.Status;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.exception.DateTimeAlreadyTakenException;
+import ru.practicum.shareit.factory.ModelFactory;
+import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.dto.UserResponse;
+import ru.practicum.shareit.user.service.UserService;
+
+import java.time.LocalDateTime;
+
+@Transactional
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@SpringBootTest(properties = "shareit.booking.interval-index.enabled=true")
+public class BookingServiceIntervalIndexTest {
+    private final BookingService bookingService;
+    private final UserService userService;
+    private final ItemService itemService;
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1);
+    private final LocalDateTime end = LocalDateTime.now().plusDays(2);
+    private UserResponse ownerResponse;
+    private UserResponse bookerResponse;
+    private ItemResponse itemResponse;
+
+    @BeforeEach
+    void beforeEach() {
+        ownerResponse = userService.createUser(ModelFactory.createUserDto());
+        bookerResponse = userService.createUser(ModelFactory.createUserDto());
+        itemResponse = itemService.createItem(ownerResponse.id(), ModelFactory.createItemDto(ownerResponse.id()));
+    }
+
+    @Test
+    void mustReleaseOldIntervalWhenApprovedBookingIsRescheduled() {
+        BookingResponse booking = bookingService.createBooking(bookerResponse.id(),
+                ModelFactory.createBookingDto(start, end, itemResponse.id(), Status.WAITING));
+        bookingService.acceptBooking(booking.id(), ownerResponse.id(), true);
+        UserResponse otherBooker = userService.createUser(ModelFactory.createUserDto());
+        BookingDto oldWindow = ModelFactory.createBookingDto(start, end, itemResponse.id(), Status.WAITING);
+        Assertions.assertThrows(DateTimeAlreadyTakenException.class,
+                () -> bookingService.createBooking(otherBooker.id(), oldWindow));
+
+        BookingDto reschedule = new BookingDto();
+        reschedule.setStart(start.plusDays(5));
+        reschedule.setEnd(end.plusDays(5));
+        bookingService.patchBooking(booking.id(), bookerResponse.id(), reschedule);
+
+        Assertions.assertDoesNotThrow(() -> bookingService.createBooking(otherBooker.id(),
+                ModelFactory.createBookingDto(start, end, itemResponse.id(), Status.WAITING)));
+        Assertions.assertThrows(DateTimeAlreadyTakenException.class, () -> bookingService.createBooking(otherBooker.id(),
+                ModelFactory.createBookingDto(start.plusDays(5), end.plusDays(5), itemResponse.id(), Status.WAITING)));
+    }
+}
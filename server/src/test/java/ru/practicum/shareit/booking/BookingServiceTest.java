@@ -10,6 +10,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.Rollback;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingResponse;
 import ru.practicum.shareit.booking.enums.BookingState;
@@ -29,6 +30,7 @@ import ru.practicum.shareit.user.dto.UserResponse;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -128,6 +130,26 @@ public class BookingServiceTest {
                 () -> bookingService.createBooking(bookerResponse.id(), bookingDto));
     }
 
+    @Test
+    @Rollback
+    void mustThrowExceptionForBookingCoveringUsedDateTime() {
+        bookingService.acceptBooking(bookingResponse.id(), ownerResponse.id(), true);
+        bookingDto = ModelFactory.createBookingDto(start.minusHours(1), end.plusHours(1), itemResponse.id(), Status.WAITING);
+        Assertions.assertThrows(DateTimeAlreadyTakenException.class,
+                () -> bookingService.createBooking(bookerResponse.id(), bookingDto));
+    }
+
+    @Test
+    @Rollback
+    void notThrowExceptionForBookingEndingAtUsedStart() {
+        LocalDateTime usedStart = start.truncatedTo(ChronoUnit.SECONDS);
+        bookingDto = ModelFactory.createBookingDto(usedStart, end, itemResponse.id(), Status.WAITING);
+        bookingResponse = bookingService.createBooking(bookerResponse.id(), bookingDto);
+        bookingService.acceptBooking(bookingResponse.id(), ownerResponse.id(), true);
+        bookingDto = ModelFactory.createBookingDto(usedStart.minusHours(1), usedStart, itemResponse.id(), Status.WAITING);
+        Assertions.assertDoesNotThrow(() -> bookingService.createBooking(bookerResponse.id(), bookingDto));
+    }
+
     @Test
     @Rollback
     void mustThrowExceptionTestCreateBookingForUnavailableItem() {
@@ -174,6 +196,53 @@ public class BookingServiceTest {
         assertThat(bookingResponses.size(), equalTo(0));
     }
 
+    @Test
+    @Rollback
+    void testGetBookingsWithStateFilteredInQuery() {
+        bookingService.acceptBooking(bookingResponse.id(), ownerResponse.id(), true);
+        bookingDto = ModelFactory.createBookingDto(end.plusDays(1), end.plusDays(2), itemResponse.id(), Status.WAITING);
+        bookingService.createBooking(bookerResponse.id(), bookingDto);
+        assertThat(bookingService.getBookings(bookerResponse.id(), BookingState.FUTURE, 0, 10).size(), equalTo(1));
+        assertThat(bookingService.getBookings(bookerResponse.id(), BookingState.WAITING, 0, 10).size(), equalTo(1));
+        assertThat(bookingService.getBookings(bookerResponse.id(), BookingState.CURRENT, 0, 10).size(), equalTo(0));
+        assertThat(bookingService.getBookings(bookerResponse.id(), BookingState.REJECTED, 0, 10).size(), equalTo(0));
+    }
+
+    @Test
+    @Rollback
+    void testGetBookingsPagedNewestFirst() {
+        bookingDto = ModelFactory.createBookingDto(end.plusDays(1), end.plusDays(2), itemResponse.id(), Status.WAITING);
+        BookingResponse latest = bookingService.createBooking(bookerResponse.id(), bookingDto);
+        bookingDto = ModelFactory.createBookingDto(start.minusHours(2), start.minusHours(1), itemResponse.id(), Status.WAITING);
+        BookingResponse earliest = bookingService.createBooking(bookerResponse.id(), bookingDto);
+        List<BookingResponse> firstPage = bookingService.getBookings(bookerResponse.id(), BookingState.ALL, 0, 2);
+        List<BookingResponse> secondPage = bookingService.getBookings(bookerResponse.id(), BookingState.ALL, 2, 2);
+        assertThat(firstPage.size(), equalTo(2));
+        assertThat(firstPage.get(0).id(), equalTo(latest.id()));
+        assertThat(secondPage.size(), equalTo(1));
+        assertThat(secondPage.get(0).id(), equalTo(earliest.id()));
+    }
+
+    @Test
+    @Rollback
+    void testGetBookingsAfterCursor() {
+        bookingDto = ModelFactory.createBookingDto(end.plusDays(1), end.plusDays(2), itemResponse.id(), Status.WAITING);
+        bookingService.createBooking(bookerResponse.id(), bookingDto);
+        bookingDto = ModelFactory.createBookingDto(start.minusHours(2), start.minusHours(1), itemResponse.id(), Status.WAITING);
+        BookingResponse earliest = bookingService.createBooking(bookerResponse.id(), bookingDto);
+        em.flush();
+        em.clear();
+        List<BookingResponse> firstPage = bookingService.getBookings(bookerResponse.id(), BookingState.ALL, 0, 2);
+        BookingResponse last = firstPage.get(firstPage.size() - 1);
+        BookingCursor cursor = new BookingCursor(last.start(), last.id());
+        List<BookingResponse> secondPage = bookingService.getBookings(bookerResponse.id(), BookingState.ALL, cursor, 2);
+        List<BookingResponse> ownerPage = bookingService.getBookingsForOwner(ownerResponse.id(), BookingState.ALL, cursor, 2);
+        assertThat(secondPage.size(), equalTo(1));
+        assertThat(secondPage.get(0).id(), equalTo(earliest.id()));
+        assertThat(ownerPage.size(), equalTo(1));
+        assertThat(ownerPage.get(0).id(), equalTo(earliest.id()));
+    }
+
     @Test
     @Rollback
     void testGetBookingsForOwnerWithStateAll() {
@@ -181,7 +250,7 @@ public class BookingServiceTest {
         UserResponse newOwnerResponse = userService.createUser(newBooker);
         bookingDto = ModelFactory.createBookingDto(start, end, itemResponse.id(), Status.WAITING);
         bookingService.createBooking(newOwnerResponse.id(), bookingDto);
-        List<BookingResponse> bookingResponses = bookingService.getBookingsForOwner(ownerResponse.id(), BookingState.ALL);
+        List<BookingResponse> bookingResponses = bookingService.getBookingsForOwner(ownerResponse.id(), BookingState.ALL, 0, 10);
         assertThat(bookingResponses.size(), equalTo(2));
     }
 
@@ -192,17 +261,31 @@ public class BookingServiceTest {
         UserResponse newOwnerResponse = userService.createUser(newBooker);
         bookingDto = ModelFactory.createBookingDto(start, end, itemResponse.id(), Status.WAITING);
         bookingService.createBooking(newOwnerResponse.id(), bookingDto);
-        List<BookingResponse> bookingResponses = bookingService.getBookingsForOwner(ownerResponse.id(), BookingState.PAST);
+        List<BookingResponse> bookingResponses = bookingService.getBookingsForOwner(ownerResponse.id(), BookingState.PAST, 0, 10);
         assertThat(bookingResponses.size(), equalTo(0));
     }
 
+    @Test
+    @Rollback
+    void testGetBookingsForOwnerAcrossItems() {
+        ItemResponse secondItem = itemService.createItem(ownerResponse.id(), ModelFactory.createItemDto(ownerResponse.id()));
+        bookingDto = ModelFactory.createBookingDto(start, end, secondItem.id(), Status.WAITING);
+        BookingResponse secondBooking = bookingService.createBooking(bookerResponse.id(), bookingDto);
+        bookingService.acceptBooking(secondBooking.id(), ownerResponse.id(), true);
+        List<BookingResponse> all = bookingService.getBookingsForOwner(ownerResponse.id(), BookingState.ALL, 0, 10);
+        List<BookingResponse> future = bookingService.getBookingsForOwner(ownerResponse.id(), BookingState.FUTURE, 0, 10);
+        assertThat(all.size(), equalTo(2));
+        assertThat(future.size(), equalTo(1));
+        assertThat(future.get(0).id(), equalTo(secondBooking.id()));
+    }
+
     @Test
     @Rollback
     void mustThrowExceptionTestGetBookingsForOwnerWithoutItem() {
         UserDto newOwner = ModelFactory.createUserDto();
         UserResponse newOwnerResponse = userService.createUser(newOwner);
         Assertions.assertThrows(NotFoundException.class,
-                () -> bookingService.getBookingsForOwner(newOwnerResponse.id(), BookingState.ALL));
+                () -> bookingService.getBookingsForOwner(newOwnerResponse.id(), BookingState.ALL, 0, 10));
     }
 
     @Test
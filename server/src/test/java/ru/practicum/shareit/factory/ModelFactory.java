@@ -32,6 +32,7 @@ public class ModelFactory {
                 null,
                 null,
                 null,
+                0,
                 0
         );
     }
@@ -5,6 +5,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.factory.ModelFactory;
@@ -13,6 +14,8 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentResponse;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.item.enums.ItemSort;
+import ru.practicum.shareit.item.dto.ItemSearchCursor;
 import ru.practicum.shareit.item.service.ItemService;
 
 import java.time.LocalDateTime;
@@ -23,6 +26,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -56,6 +60,17 @@ public class ItemControllerTest {
         verify(itemService, times(1)).getItem(itemId);
     }
 
+    @Test
+    void testGetItemNotModified() throws Exception {
+        when(itemService.getItemVersion(itemId)).thenReturn(3L);
+        mockMvc.perform(get("/items/" + itemId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+        verify(itemService, never()).getItem(itemId);
+    }
+
     @Test
     void testCreateItem() throws Exception {
         when(itemService.createItem(eq(userId), any(ItemDto.class))).thenReturn(itemResponse);
@@ -103,7 +118,7 @@ public class ItemControllerTest {
 
     @Test
     void testGetItemsForUser() throws Exception {
-        when(itemService.getItemsForUser(userId)).thenReturn(List.of(itemResponse));
+        when(itemService.getItemsForUser(userId, ItemSort.DEFAULT)).thenReturn(List.of(itemResponse));
         mockMvc.perform(get("/items")
                         .header("X-sharer-User-Id", userId)
                         .content(mapper.writeValueAsString(itemResponse))
@@ -111,12 +126,12 @@ public class ItemControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.*", hasSize(1)));
-        verify(itemService, times(1)).getItemsForUser(userId);
+        verify(itemService, times(1)).getItemsForUser(userId, ItemSort.DEFAULT);
     }
 
     @Test
     void testSearchItem() throws Exception {
-        when(itemService.getBySearch(anyString())).thenReturn(List.of(itemResponse));
+        when(itemService.getBySearch(anyString(), eq(0), eq(10), eq(ItemSort.DEFAULT))).thenReturn(List.of(itemResponse));
         mockMvc.perform(get("/items/search")
                         .param("text", "test")
                         .content(mapper.writeValueAsString(itemResponse))
@@ -124,7 +139,50 @@ public class ItemControllerTest {
                         .accept(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.*", hasSize(1)));
-        verify(itemService, times(1)).getBySearch(anyString());
+        verify(itemService, times(1)).getBySearch(anyString(), eq(0), eq(10), eq(ItemSort.DEFAULT));
+    }
+
+    @Test
+    void testSuggestItemNames() throws Exception {
+        when(itemService.getSuggestions("дре", 5)).thenReturn(List.of("Дрель"));
+        mockMvc.perform(get("/items/suggest")
+                        .param("prefix", "дре")
+                        .param("size", "5")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0]", is("Дрель")));
+        verify(itemService, times(1)).getSuggestions("дре", 5);
+    }
+
+    @Test
+    void testSearchItemAfterCursor() throws Exception {
+        when(itemService.getBySearch(eq("test"), eq(new ItemSearchCursor(1, 5L)), eq(20))).thenReturn(List.of(itemResponse));
+        mockMvc.perform(get("/items/search")
+                        .param("text", "Test")
+                        .param("after", "1,5")
+                        .param("size", "20")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.*", hasSize(1)));
+        verify(itemService, times(1)).getBySearch(eq("test"), eq(new ItemSearchCursor(1, 5L)), eq(20));
+    }
+
+    @Test
+    void testSearchItemByPopularity() throws Exception {
+        when(itemService.getBySearch(eq("test"), eq(0), eq(10), eq(ItemSort.POPULARITY))).thenReturn(List.of(itemResponse));
+        mockMvc.perform(get("/items/search")
+                        .param("text", "Test")
+                        .param("sort", "popularity")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.*", hasSize(1)));
+        mockMvc.perform(get("/items/search")
+                        .param("text", "Test")
+                        .param("sort", "popularity")
+                        .param("after", "1,5")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+        verify(itemService, times(1)).getBySearch(eq("test"), eq(0), eq(10), eq(ItemSort.POPULARITY));
     }
 
     @Test
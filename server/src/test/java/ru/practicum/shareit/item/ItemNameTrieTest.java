@@ -0,0 +1,74 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemText;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemNameTrie;
+
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ItemNameTrieTest {
+    private final ItemRepository itemRepository = mock(ItemRepository.class);
+    private final ItemNameTrie trie = new ItemNameTrie(itemRepository);
+
+    @BeforeEach
+    void beforeEach() {
+        when(itemRepository.findAvailableTexts()).thenReturn(List.of(
+                new ItemText(1L, "Дрель", "Простая дрель", true),
+                new ItemText(2L, "Дрель ударная", "Мощная", true),
+                new ItemText(3L, "Дрель", "Еще одна", true),
+                new ItemText(4L, "Отвертка", "Аккумуляторная", true)
+        ));
+        trie.build();
+    }
+
+    @Test
+    void mustSuggestDistinctNamesByPrefix() {
+        assertThat(trie.suggest("др", 10), equalTo(List.of("Дрель", "Дрель ударная")));
+        assertThat(trie.suggest("ДРЕЛЬ ", 10), equalTo(List.of("Дрель ударная")));
+        assertThat(trie.suggest("", 2), equalTo(List.of("Дрель", "Дрель ударная")));
+        assertThat(trie.suggest("молоток", 10), empty());
+    }
+
+    @Test
+    void mustCountNamesOnceWhenRebuilt() {
+        trie.build();
+        trie.update(null, new ItemText(5L, "Дрель ударная", "Новая", true));
+        trie.update(null, new ItemText(6L, "Дрель ударная", "Еще новее", true));
+
+        assertThat(trie.suggest("др", 10), equalTo(List.of("Дрель ударная", "Дрель")));
+    }
+
+    @Test
+    void mustRankNamesByItemCount() {
+        trie.update(null, new ItemText(5L, "Дрель ударная", "Новая", true));
+        trie.update(null, new ItemText(6L, "Дрель ударная", "Еще новее", true));
+        assertThat(trie.suggest("др", 10), equalTo(List.of("Дрель ударная", "Дрель")));
+        assertThat(trie.suggest("", 2), equalTo(List.of("Дрель ударная", "Дрель")));
+
+        trie.update(new ItemText(5L, "Дрель ударная", "Новая", true), null);
+        trie.update(new ItemText(6L, "Дрель ударная", "Еще новее", true), null);
+        assertThat(trie.suggest("", 3), equalTo(List.of("Дрель", "Дрель ударная", "Отвертка")));
+    }
+
+    @Test
+    void mustApplyIncrementalUpdates() {
+        trie.update(new ItemText(1L, "Дрель", "Простая дрель", true), null);
+        assertThat(trie.suggest("др", 10), equalTo(List.of("Дрель", "Дрель ударная")));
+
+        trie.update(new ItemText(3L, "Дрель", "Еще одна", true), new ItemText(3L, "Дрель", "Еще одна", false));
+        assertThat(trie.suggest("др", 10), equalTo(List.of("Дрель ударная")));
+
+        trie.update(new ItemText(4L, "Отвертка", "Аккумуляторная", true), new ItemText(4L, "Шуруповерт", "Аккумуляторный", true));
+        trie.update(null, new ItemText(5L, "Отвес", "Строительный", true));
+        assertThat(trie.suggest("от", 10), equalTo(List.of("Отвес")));
+        assertThat(trie.suggest("ш", 10), equalTo(List.of("Шуруповерт")));
+    }
+}
@@ -0,0 +1,92 @@
+package ru.practicum.shareit.item;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.item.dto.ItemText;
+import ru.practicum.shareit.item.service.ItemSearchCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+public class ItemSearchCacheTest {
+    private static final String PAGE = "from=0,size=10";
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ItemSearchCache cache = new ItemSearchCache(meterRegistry, 2, Duration.ofMinutes(1));
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Supplier<List<ItemResponse>> loader = () -> {
+        loads.incrementAndGet();
+        return List.of();
+    };
+
+    @Test
+    void mustServeRepeatedSearchesFromCache() {
+        cache.get("Drill", PAGE, loader);
+        cache.get("drill", PAGE, loader);
+
+        assertThat(loads.get(), equalTo(1));
+        assertThat(cacheGets("hit"), equalTo(1.0));
+        assertThat(cacheGets("miss"), equalTo(1.0));
+    }
+
+    @Test
+    void mustCacheEachPageSeparately() {
+        cache.get("drill", PAGE, loader);
+        cache.get("drill", "from=10,size=10", loader);
+        cache.get("drill", PAGE, loader);
+
+        assertThat(loads.get(), equalTo(2));
+    }
+
+    @Test
+    void mustInvalidateOnlyMatchingTexts() {
+        cache.get("drill", PAGE, loader);
+        cache.get("saw", PAGE, loader);
+
+        cache.invalidate(new ItemText(1L, "Drill", "old", true), new ItemText(1L, "Drill", "new", true));
+        cache.get("drill", PAGE, loader);
+        cache.get("saw", PAGE, loader);
+
+        assertThat(loads.get(), equalTo(3));
+    }
+
+    @Test
+    void mustInvalidateWhenItemBecomesAvailable() {
+        cache.get("drill", PAGE, loader);
+
+        cache.invalidate(new ItemText(1L, "Drill", "old", true), new ItemText(1L, "Drill", "old", true));
+        cache.get("drill", PAGE, loader);
+        cache.invalidate(new ItemText(1L, "Drill", "old", false), new ItemText(1L, "Drill", "old", true));
+        cache.get("drill", PAGE, loader);
+
+        assertThat(loads.get(), equalTo(2));
+    }
+
+    @Test
+    void mustEvictBySizeAndTtl() {
+        cache.get("drill", PAGE, loader);
+        cache.get("saw", PAGE, loader);
+        cache.get("hammer", PAGE, loader);
+
+        assertThat(loads.get(), equalTo(3));
+        assertThat(cache.size(), equalTo(2L));
+        assertThat(meterRegistry.get("cache.evictions").tag("cache", "shareit.item.search.cache")
+                .functionCounter().count(), equalTo(1.0));
+
+        ItemSearchCache expiring = new ItemSearchCache(meterRegistry, 2, Duration.ZERO);
+        expiring.get("drill", PAGE, loader);
+        expiring.get("drill", PAGE, loader);
+
+        assertThat(loads.get(), equalTo(5));
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", "shareit.item.search.cache").tag("result", result)
+                .functionCounter().count();
+    }
+}
@@ -0,0 +1,127 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.item.dto.ItemSearchCursor;
+import ru.practicum.shareit.item.dto.ItemText;
+import ru.practicum.shareit.item.dto.ItemView;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemSearchIndex;
+
+import java.util.Collection;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.*;
+
+public class ItemSearchIndexTest {
+    private final ItemRepository itemRepository = mock(ItemRepository.class);
+    private final ItemSearchIndex index = new ItemSearchIndex(itemRepository, true);
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void beforeEach() {
+        when(itemRepository.findAvailableTexts()).thenReturn(List.of(
+                new ItemText(1L, "Дрель", "Простая дрель", true),
+                new ItemText(2L, "Отвертка", "Аккумуляторная, подходит к дрели", true),
+                new ItemText(3L, "Дрель ударная", "Мощная", false),
+                new ItemText(4L, "Ab", null, true)
+        ));
+        when(itemRepository.findAvailableViewsByIdIn(any())).thenAnswer(invocation ->
+                ((Collection<Long>) invocation.getArgument(0)).stream().map(this::createView).toList());
+        index.build();
+    }
+
+    @Test
+    void mustMatchSubstringsAndRankNameMatchesFirst() {
+        assertThat(ids(index.search("дрел", 0, 10)), equalTo(List.of(1L, 2L)));
+        assertThat(ids(index.search("ЛЬ", 0, 10)), equalTo(List.of(1L)));
+        assertThat(ids(index.search("b", 0, 10)), equalTo(List.of(4L)));
+        assertThat(ids(index.search("ударная", 0, 10)), empty());
+    }
+
+    @Test
+    void mustPageByOffsetAndCursor() {
+        index.index(createItem(5L, "Дрель", "Новая", true));
+        index.index(createItem(6L, "Набор бит", "Для дрели и шуруповерта", true));
+
+        assertThat(ids(index.search("дрел", 0, 2)), equalTo(List.of(1L, 5L)));
+        assertThat(ids(index.search("дрел", 2, 2)), equalTo(List.of(2L, 6L)));
+        assertThat(ids(index.search("дрел", new ItemSearchCursor(0, 5L), 2)), equalTo(List.of(2L, 6L)));
+        assertThat(ids(index.search("дрел", new ItemSearchCursor(1, 2L), 2)), equalTo(List.of(6L)));
+    }
+
+    @Test
+    void mustContinueFromCursorWhoseItemWasRemoved() {
+        index.index(createItem(5L, "Дрель", "Новая", true));
+        index.index(createItem(6L, "Набор бит", "Для дрели и шуруповерта", true));
+        index.remove(5L);
+
+        assertThat(ids(index.search("дрел", new ItemSearchCursor(0, 5L), 2)), equalTo(List.of(2L, 6L)));
+    }
+
+    @Test
+    void mustQueryRepositoryWithCursorWhenDisabled() {
+        ItemSearchIndex disabled = new ItemSearchIndex(itemRepository, false);
+        when(itemRepository.findViewsByNameOrDescriptionAfter("дрел", 1, 3L, Limit.of(2))).thenReturn(List.of(createView(2L)));
+
+        assertThat(ids(disabled.search("дрел", new ItemSearchCursor(1, 3L), 2)), equalTo(List.of(2L)));
+    }
+
+    @Test
+    void mustApplyIncrementalUpdates() {
+        index.index(createItem(3L, "Дрель ударная", "Мощная", true));
+        index.index(createItem(1L, "Молоток", "Простой", true));
+        index.remove(2L);
+
+        assertThat(ids(index.search("дрел", 0, 10)), equalTo(List.of(3L)));
+        assertThat(ids(index.search("молот", 0, 10)), equalTo(List.of(1L)));
+
+        index.index(createItem(3L, "Дрель ударная", "Мощная", false));
+
+        assertThat(ids(index.search("дрел", 0, 10)), empty());
+        verify(itemRepository, times(1)).findAvailableTexts();
+    }
+
+    @Test
+    void mustReplaceContentsWhenRebuilt() {
+        when(itemRepository.findAvailableTexts()).thenReturn(List.of(new ItemText(7L, "Дрель", null, true)));
+
+        index.build();
+
+        assertThat(ids(index.search("дрел", 0, 10)), equalTo(List.of(7L)));
+        assertThat(ids(index.search("от", 0, 10)), empty());
+    }
+
+    @Test
+    void mustQueryRepositoryWhenDisabled() {
+        ItemSearchIndex disabled = new ItemSearchIndex(itemRepository, false);
+        when(itemRepository.findViewsByNameOrDescription("дрель", PageRequest.of(0, 10))).thenReturn(List.of(createView(1L)));
+
+        assertThat(ids(disabled.search("дрель", 0, 10)), equalTo(List.of(1L)));
+        verify(itemRepository, times(1)).findViewsByNameOrDescription("дрель", PageRequest.of(0, 10));
+    }
+
+    private List<Long> ids(List<ItemView> views) {
+        return views.stream().map(ItemView::id).toList();
+    }
+
+    private ItemView createView(Long id) {
+        return new ItemView(id, "name", "description", true, 1L, "owner", "owner@mail.ru",
+                null, null, null, null, null, null, 0, 0);
+    }
+
+    private Item createItem(Long id, String name, String description, boolean available) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setAvailable(available);
+        return item;
+    }
+}
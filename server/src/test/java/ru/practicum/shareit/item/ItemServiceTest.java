@@ -22,19 +22,28 @@ import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentResponse;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.item.enums.ItemSort;
+import ru.practicum.shareit.item.dto.ItemSearchCursor;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemCounterReconciler;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserResponse;
+import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.sql.Timestamp;
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
 
 @Transactional
 @RequiredArgsConstructor(onConstructor_ = @Autowired)
@@ -43,6 +52,7 @@ public class ItemServiceTest {
     private final ItemService itemService;
     private final UserService userService;
     private final BookingService bookingService;
+    private final ItemCounterReconciler itemCounterReconciler;
     private final EntityManager em;
     private UserResponse ownerResponse;
     private ItemResponse itemResponse;
@@ -114,6 +124,20 @@ public class ItemServiceTest {
         assertThat(item.getName(), equalTo(itemDto.getName()));
     }
 
+    @Test
+    @Rollback
+    void testItemVersionChangesWithPatchAndOwner() {
+        long version = itemService.getItemVersion(itemResponse.id());
+        itemService.patchItem(itemResponse.id(), ownerResponse.id(), ModelFactory.createItemDto(ownerResponse.id()));
+        assertThat(itemService.getItemVersion(itemResponse.id()), equalTo(version + 1));
+
+        UserDto userDto = new UserDto();
+        userDto.setName("newName");
+        userService.patchUser(userDto, ownerResponse.id());
+        assertThat(itemService.getItemVersion(itemResponse.id()), equalTo(version + 2));
+        Assertions.assertThrows(NotFoundException.class, () -> itemService.getItemVersion(notExistsId));
+    }
+
     @Test
     @Rollback
     void testDeleteItem() {
@@ -128,19 +152,104 @@ public class ItemServiceTest {
     void testGetItemsForUser() {
         itemDto = ModelFactory.createItemDto(ownerResponse.id());
         itemResponse = itemService.createItem(ownerResponse.id(), itemDto);
-        List<ItemResponse> itemResponses = itemService.getItemsForUser(ownerResponse.id());
+        List<ItemResponse> itemResponses = itemService.getItemsForUser(ownerResponse.id(), ItemSort.DEFAULT);
         assertThat(itemResponses.size(), equalTo(2));
         TypedQuery<Item> query = em.createQuery("SELECT i FROM Item AS i WHERE owner.id = :ownerId", Item.class);
         List<Item> items = query.setParameter("ownerId", ownerResponse.id()).getResultList();
         assertThat(itemResponses.size(), equalTo(items.size()));
     }
 
+    @Test
+    void testGetItemsForUserWithBookings() {
+        UserResponse bookerResponse = userService.createUser(ModelFactory.createUserDto());
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        BookingResponse older = bookingService.createBooking(bookerResponse.id(), ModelFactory.createBookingDto(
+                now.minusDays(4), now.minusDays(3), itemResponse.id(), Status.WAITING));
+        BookingResponse last = bookingService.createBooking(bookerResponse.id(), ModelFactory.createBookingDto(
+                now.minusDays(2), now.minusDays(1), itemResponse.id(), Status.WAITING));
+        BookingResponse next = bookingService.createBooking(bookerResponse.id(), ModelFactory.createBookingDto(
+                now.plusDays(1), now.plusDays(2), itemResponse.id(), Status.WAITING));
+        bookingService.createBooking(bookerResponse.id(), ModelFactory.createBookingDto(
+                now.plusDays(3), now.plusDays(4), itemResponse.id(), Status.WAITING));
+        for (BookingResponse booking : List.of(older, last, next)) {
+            bookingService.acceptBooking(booking.id(), ownerResponse.id(), true);
+        }
+        ItemResponse withoutBookings = itemService.createItem(ownerResponse.id(), ModelFactory.createItemDto(ownerResponse.id()));
+
+        List<ItemResponse> itemResponses = itemService.getItemsForUser(ownerResponse.id(), ItemSort.DEFAULT);
+
+        assertThat(itemResponses.get(0).id(), equalTo(itemResponse.id()));
+        assertThat(itemResponses.get(0).lastBooking().id(), equalTo(last.id()));
+        assertThat(itemResponses.get(0).lastBooking().booker().id(), equalTo(bookerResponse.id()));
+        assertThat(itemResponses.get(0).nextBooking().id(), equalTo(next.id()));
+        assertThat(itemResponses.get(0).rentCount(), equalTo(2));
+        assertThat(itemResponses.get(1).id(), equalTo(withoutBookings.id()));
+        assertThat(itemResponses.get(1).lastBooking(), nullValue());
+        assertThat(itemResponses.get(1).nextBooking(), nullValue());
+        assertThat(itemResponses.get(1).rentCount(), equalTo(0));
+    }
+
+    @Test
+    void testGetItemsSortedByPopularity() {
+        itemDto = ModelFactory.createItemDto(ownerResponse.id());
+        itemDto.setName("PopularSearch rarely rented");
+        ItemResponse rare = itemService.createItem(ownerResponse.id(), itemDto);
+        itemDto = ModelFactory.createItemDto(ownerResponse.id());
+        itemDto.setName("PopularSearch");
+        ItemResponse popular = itemService.createItem(ownerResponse.id(), itemDto);
+        assertThat(itemService.getBySearch("popularsearch", 0, 10, ItemSort.POPULARITY).get(0).id(), equalTo(rare.id()));
+        UserResponse bookerResponse = userService.createUser(ModelFactory.createUserDto());
+        LocalDateTime now = LocalDateTime.now();
+        BookingResponse completed = bookingService.createBooking(bookerResponse.id(), ModelFactory.createBookingDto(
+                now.minusDays(2), now.minusDays(1), popular.id(), Status.WAITING));
+        BookingResponse future = bookingService.createBooking(bookerResponse.id(), ModelFactory.createBookingDto(
+                now.plusDays(1), now.plusDays(2), rare.id(), Status.WAITING));
+        bookingService.acceptBooking(completed.id(), ownerResponse.id(), true);
+        bookingService.acceptBooking(future.id(), ownerResponse.id(), true);
+        em.flush();
+        em.clear();
+
+        List<ItemResponse> byPopularity = itemService.getItemsForUser(ownerResponse.id(), ItemSort.POPULARITY);
+        assertThat(byPopularity.stream().map(ItemResponse::id).toList(),
+                equalTo(List.of(popular.id(), itemResponse.id(), rare.id())));
+        assertThat(byPopularity.get(0).rentCount(), equalTo(1));
+        assertThat(byPopularity.get(2).rentCount(), equalTo(0));
+        assertThat(em.find(Item.class, popular.id()).getLastRentedAt().isBefore(now), equalTo(true));
+        assertThat(em.find(Item.class, rare.id()).getLastRentedAt(), nullValue());
+        assertThat(itemService.getBySearch("popularsearch", 0, 10, ItemSort.POPULARITY).get(0).id(), equalTo(popular.id()));
+        assertThat(itemService.getBySearch("popularsearch", 0, 10, ItemSort.DEFAULT).get(0).id(), equalTo(rare.id()));
+    }
+
+    @Test
+    void testGetItemsForUserWithNewestComments() {
+        UserResponse authorResponse = userService.createUser(ModelFactory.createUserDto());
+        Instant now = Instant.now();
+        List<Long> commentIds = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            Comment comment = new Comment();
+            comment.setText("comment " + i);
+            comment.setCreated(Timestamp.from(now.minusSeconds(i)));
+            comment.setItem(em.getReference(Item.class, itemResponse.id()));
+            comment.setAuthor(em.getReference(User.class, authorResponse.id()));
+            em.persist(comment);
+            commentIds.add(comment.getId());
+        }
+        em.flush();
+        em.clear();
+
+        List<CommentResponse> comments = itemService.getItemsForUser(ownerResponse.id(), ItemSort.DEFAULT).get(0).comments();
+
+        assertThat(comments.stream().map(CommentResponse::id).toList(), equalTo(commentIds.subList(0, 10)));
+        assertThat(comments.get(0).authorName(), equalTo(authorResponse.name()));
+        assertThat(itemService.getBySearch(itemDto.getName(), 0, 10, ItemSort.DEFAULT).get(0).comments().size(), equalTo(10));
+    }
+
     @Test
     void testGetBySearch() {
         itemDto = ModelFactory.createItemDto(ownerResponse.id());
         itemDto.setName("otherName");
         itemResponse = itemService.createItem(ownerResponse.id(), itemDto);
-        List<ItemResponse> itemResponses = itemService.getBySearch(itemDto.getDescription());
+        List<ItemResponse> itemResponses = itemService.getBySearch(itemDto.getDescription(), 0, 10, ItemSort.DEFAULT);
         assertThat(itemResponses.size(), equalTo(2));
         TypedQuery<Item> query = em.createQuery("SELECT i FROM Item AS i WHERE i.name LIKE :name OR i.description LIKE :description", Item.class);
         List<Item> items = query
@@ -150,6 +259,64 @@ public class ItemServiceTest {
         assertThat(itemResponses.size(), equalTo(items.size()));
     }
 
+    @Test
+    void testGetBySearchRanksNameMatchesFirst() {
+        itemDto = ModelFactory.createItemDto(ownerResponse.id());
+        itemDto.setName("plain");
+        itemDto.setDescription("rankedsearch in description");
+        ItemResponse descriptionMatch = itemService.createItem(ownerResponse.id(), itemDto);
+        itemDto = ModelFactory.createItemDto(ownerResponse.id());
+        itemDto.setName("RankedSearch drill");
+        ItemResponse nameMatch = itemService.createItem(ownerResponse.id(), itemDto);
+        List<ItemResponse> itemResponses = itemService.getBySearch("rankedsearch", 0, 10, ItemSort.DEFAULT);
+        assertThat(itemResponses.stream().map(ItemResponse::id).toList(),
+                equalTo(List.of(nameMatch.id(), descriptionMatch.id())));
+    }
+
+    @Test
+    void testGetBySearchPaged() {
+        List<Long> expected = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            itemDto = ModelFactory.createItemDto(ownerResponse.id());
+            itemDto.setName("plain");
+            itemDto.setDescription("pagedsearch in description");
+            expected.add(itemService.createItem(ownerResponse.id(), itemDto).id());
+        }
+        for (int i = 0; i < 3; i++) {
+            itemDto = ModelFactory.createItemDto(ownerResponse.id());
+            itemDto.setName("PagedSearch " + i);
+            expected.add(i, itemService.createItem(ownerResponse.id(), itemDto).id());
+        }
+        List<Long> byOffset = new ArrayList<>();
+        List<Long> byCursor = new ArrayList<>();
+        for (int from = 0; from < 6; from += 2) {
+            byOffset.addAll(itemService.getBySearch("pagedsearch", from, 2, ItemSort.DEFAULT).stream().map(ItemResponse::id).toList());
+        }
+        List<ItemResponse> page = itemService.getBySearch("pagedsearch", 0, 2, ItemSort.DEFAULT);
+        while (!page.isEmpty()) {
+            byCursor.addAll(page.stream().map(ItemResponse::id).toList());
+            ItemResponse last = page.get(page.size() - 1);
+            int rank = last.name().toLowerCase().contains("pagedsearch") ? 0 : 1;
+            page = itemService.getBySearch("pagedsearch", new ItemSearchCursor(rank, last.id()), 2);
+        }
+        assertThat(byOffset, equalTo(expected));
+        assertThat(byCursor, equalTo(expected));
+    }
+
+    @Test
+    void testGetBySearchCursorSurvivesDeletedAnchor() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            itemDto = ModelFactory.createItemDto(ownerResponse.id());
+            itemDto.setName("AnchoredSearch " + i);
+            ids.add(itemService.createItem(ownerResponse.id(), itemDto).id());
+        }
+        itemService.deleteItem(ids.get(0), ownerResponse.id());
+
+        List<ItemResponse> page = itemService.getBySearch("anchoredsearch", new ItemSearchCursor(0, ids.get(0)), 10);
+        assertThat(page.stream().map(ItemResponse::id).toList(), equalTo(ids.subList(1, 3)));
+    }
+
     @Test
     @Rollback
     void testCreateComment() {
@@ -173,6 +340,29 @@ public class ItemServiceTest {
         assertThat(comment.getText(), equalTo(commentRequest.getText()));
         assertThat(comment.getItem().getId(), equalTo(itemResponse.id()));
         assertThat(comment.getAuthor().getId(), equalTo(bookerResponse.id()));
+        assertThat(itemService.getItemsForUser(ownerResponse.id(), ItemSort.DEFAULT).get(0).commentCount(), equalTo(1));
+    }
+
+    @Test
+    void testReconcileCounters() {
+        UserResponse authorResponse = userService.createUser(ModelFactory.createUserDto());
+        for (int i = 0; i < 2; i++) {
+            Comment comment = new Comment();
+            comment.setText("comment " + i);
+            comment.setCreated(Timestamp.from(Instant.now()));
+            comment.setItem(em.getReference(Item.class, itemResponse.id()));
+            comment.setAuthor(em.getReference(User.class, authorResponse.id()));
+            em.persist(comment);
+        }
+        em.flush();
+        em.clear();
+        assertThat(itemService.getItemsForUser(ownerResponse.id(), ItemSort.DEFAULT).get(0).commentCount(), equalTo(0));
+
+        assertThat(itemCounterReconciler.reconcile(), equalTo(1));
+        em.clear();
+
+        assertThat(itemService.getItemsForUser(ownerResponse.id(), ItemSort.DEFAULT).get(0).commentCount(), equalTo(2));
+        assertThat(itemCounterReconciler.reconcile(), equalTo(0));
     }
 
     @Test
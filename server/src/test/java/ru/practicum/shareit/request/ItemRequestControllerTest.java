@@ -5,10 +5,12 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.factory.ModelFactory;
 import ru.practicum.shareit.request.controller.ItemRequestController;
+import ru.practicum.shareit.request.dto.ItemRequestCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponse;
 import ru.practicum.shareit.request.dto.ItemRequestWithItems;
@@ -22,6 +24,7 @@ import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -57,6 +60,17 @@ public class ItemRequestControllerTest {
         verify(itemRequestService, times(1)).getItemRequest(itemRequestId);
     }
 
+    @Test
+    void testGetItemRequestNotModified() throws Exception {
+        when(itemRequestService.getItemRequestVersion(itemRequestId)).thenReturn(3L);
+        mockMvc.perform(get("/requests/" + itemRequestId)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"3\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+        verify(itemRequestService, never()).getItemRequest(itemRequestId);
+    }
+
     @Test
     void testGetItemRequestForRequestor() throws Exception {
         when(itemRequestService.getItemRequestForRequestor(itemRequestId)).thenReturn(List.of(itemRequestWithItems));
@@ -122,7 +136,7 @@ public class ItemRequestControllerTest {
 
     @Test
     void testGetItemRequestForOther() throws Exception {
-        when(itemRequestService.getItemRequestForOther(userId)).thenReturn(List.of(itemRequestResponse));
+        when(itemRequestService.getItemRequestForOther(userId, 0, 10)).thenReturn(List.of(itemRequestResponse));
 
         mockMvc.perform(get("/requests/all")
                         .header("X-sharer-User-Id", userId)
@@ -132,6 +146,33 @@ public class ItemRequestControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.*", hasSize(1)));
 
-        verify(itemRequestService, times(1)).getItemRequestForOther(userId);
+        verify(itemRequestService, times(1)).getItemRequestForOther(userId, 0, 10);
+    }
+
+    @Test
+    void testGetItemRequestForOtherAfterCursor() throws Exception {
+        ItemRequestCursor cursor = new ItemRequestCursor(LocalDateTime.of(2024, 12, 12, 1, 0), 5L);
+        when(itemRequestService.getItemRequestForOther(eq(userId), eq(cursor), eq(20))).thenReturn(List.of(itemRequestResponse));
+
+        mockMvc.perform(get("/requests/all")
+                        .header("X-sharer-User-Id", userId)
+                        .param("after", "2024-12-12T01:00:00,5")
+                        .param("size", "20")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.*", hasSize(1)));
+
+        verify(itemRequestService, times(1)).getItemRequestForOther(eq(userId), eq(cursor), eq(20));
+    }
+
+    @Test
+    void mustReturnBadRequestForInvalidCursor() throws Exception {
+        mockMvc.perform(get("/requests/all")
+                        .header("X-sharer-User-Id", userId)
+                        .param("after", "yesterday")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(itemRequestService);
     }
 }
\ No newline at end of file
@@ -15,6 +15,7 @@ import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.factory.ModelFactory;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.dto.ItemRequestCursor;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestResponse;
 import ru.practicum.shareit.request.dto.ItemRequestWithItems;
@@ -24,6 +25,9 @@ import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.dto.UserResponse;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -76,6 +80,25 @@ public class ItemRequestServiceTest {
         assertThat(itemRequest.getRequestor().getId(), equalTo(requestorResponse.id()));
     }
 
+    @Test
+    @Rollback
+    void testItemRequestVersionChangesWithItemsAndPatch() {
+        long version = itemRequestService.getItemRequestVersion(itemRequestResponse.id());
+        UserResponse ownerResponse = userService.createUser(ModelFactory.createUserDto());
+        Long itemId = itemService.createItem(ownerResponse.id(),
+                ModelFactory.createItemDtoForRequest(ownerResponse.id(), itemRequestResponse.id())).id();
+        assertThat(itemRequestService.getItemRequestVersion(itemRequestResponse.id()), equalTo(version + 1));
+
+        long itemVersion = itemService.getItemVersion(itemId);
+        ItemRequestDto patch = new ItemRequestDto();
+        patch.setDescription("newDescription");
+        itemRequestService.patchItemRequest(itemRequestResponse.id(), requestorResponse.id(), patch);
+        assertThat(itemRequestService.getItemRequestVersion(itemRequestResponse.id()), equalTo(version + 2));
+        assertThat(itemService.getItemVersion(itemId), equalTo(itemVersion + 1));
+        Assertions.assertThrows(NotFoundException.class,
+                () -> itemRequestService.getItemRequestVersion(notExistsItemRequestId));
+    }
+
     @Test
     @Rollback
     void testPatchItemRequest() {
@@ -115,6 +138,22 @@ public class ItemRequestServiceTest {
         assertThat(requestWithItems.size(), equalTo(itemRequests.size()));
     }
 
+    @Test
+    void testGetItemRequestForRequestorNewestFirst() {
+        itemRequestDto.setCreated(LocalDateTime.now().minusDays(1));
+        ItemRequestResponse older = itemRequestService.createItemRequest(requestorResponse.id(), itemRequestDto);
+        UserResponse ownerResponse = userService.createUser(ModelFactory.createUserDto());
+        itemService.createItem(ownerResponse.id(), ModelFactory.createItemDtoForRequest(ownerResponse.id(), older.id()));
+        itemService.createItem(ownerResponse.id(), ModelFactory.createItemDtoForRequest(ownerResponse.id(), older.id()));
+        List<ItemRequestWithItems> requestWithItems = itemRequestService.getItemRequestForRequestor(requestorResponse.id());
+        assertThat(requestWithItems.size(), equalTo(2));
+        assertThat(requestWithItems.get(0).id(), equalTo(itemRequestResponse.id()));
+        assertThat(requestWithItems.get(0).items().size(), equalTo(0));
+        assertThat(requestWithItems.get(1).id(), equalTo(older.id()));
+        assertThat(requestWithItems.get(1).items().size(), equalTo(2));
+        assertThat(requestWithItems.get(1).items().get(0).ownerId(), equalTo(ownerResponse.id()));
+    }
+
     @Test
     void testGetItemRequestForOther() {
         itemRequestResponse = itemRequestService.createItemRequest(requestorResponse.id(), itemRequestDto);
@@ -122,7 +161,7 @@ public class ItemRequestServiceTest {
         UserResponse ownerResponse = userService.createUser(owner);
         ItemDto itemDto = ModelFactory.createItemDtoForRequest(ownerResponse.id(), itemRequestResponse.id());
         itemService.createItem(ownerResponse.id(), itemDto);
-        List<ItemRequestResponse> requestWithItems = itemRequestService.getItemRequestForOther(requestorResponse.id());
+        List<ItemRequestResponse> requestWithItems = itemRequestService.getItemRequestForOther(requestorResponse.id(), 0, 10);
         assertThat(requestWithItems.size(), equalTo(0));
         TypedQuery<ItemRequest> query = em.createQuery("SELECT i FROM ItemRequest AS i WHERE i.requestor.id <> :requestor_id", ItemRequest.class);
         List<ItemRequest> itemRequests = query.setParameter("requestor_id", requestorResponse.id())
@@ -145,4 +184,25 @@ public class ItemRequestServiceTest {
         Assertions.assertThrows(NoPermissionException.class,
                 () -> itemRequestService.deleteItemRequest(newUser.id(), itemRequestResponse.id()));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testGetItemRequestForOtherPaged() {
+        UserResponse other = userService.createUser(ModelFactory.createUserDto());
+        List<ItemRequestResponse> created = new ArrayList<>();
+        LocalDateTime base = LocalDateTime.now().plusYears(1).truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < 5; i++) {
+            itemRequestDto.setCreated(base.plusMinutes(i));
+            created.add(itemRequestService.createItemRequest(other.id(), itemRequestDto));
+        }
+        List<ItemRequestResponse> firstPage = itemRequestService.getItemRequestForOther(requestorResponse.id(), 0, 2);
+        assertThat(firstPage.stream().map(ItemRequestResponse::id).toList(),
+                equalTo(List.of(created.get(4).id(), created.get(3).id())));
+        List<ItemRequestResponse> secondPage = itemRequestService.getItemRequestForOther(requestorResponse.id(), 2, 2);
+        assertThat(secondPage.stream().map(ItemRequestResponse::id).toList(),
+                equalTo(List.of(created.get(2).id(), created.get(1).id())));
+        ItemRequestResponse last = secondPage.get(1);
+        List<ItemRequestResponse> afterCursor = itemRequestService.getItemRequestForOther(requestorResponse.id(),
+                new ItemRequestCursor(last.created(), last.id()), 2);
+        assertThat(afterCursor.get(0).id(), equalTo(created.get(0).id()));
+    }
+}
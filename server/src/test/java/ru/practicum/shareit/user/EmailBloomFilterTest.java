@@ -0,0 +1,104 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.EmailBloomFilter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+public class EmailBloomFilterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserRepository userRepository = mock(UserRepository.class);
+
+    @Test
+    void mustContainExistingEmailsIgnoringCase() {
+        when(userRepository.findAllEmails()).thenReturn(List.of("First@mail.ru", "second@mail.ru"));
+        EmailBloomFilter filter = new EmailBloomFilter(userRepository, meterRegistry, true, 100, 0.01);
+        filter.build();
+
+        assertTrue(filter.mightContain("first@mail.ru"));
+        assertTrue(filter.mightContain("SECOND@mail.ru"));
+        assertFalse(filter.mightContain("third@mail.ru"));
+        assertThat(meterRegistry.counter("shareit.user.email-filter", "result", "skipped").count(), equalTo(1.0));
+    }
+
+    @Test
+    void mustContainAddedEmails() {
+        when(userRepository.findAllEmails()).thenReturn(List.of());
+        EmailBloomFilter filter = new EmailBloomFilter(userRepository, meterRegistry, true, 100, 0.01);
+        filter.build();
+
+        filter.add("new@mail.ru");
+
+        assertTrue(filter.mightContain("New@mail.ru"));
+    }
+
+    @Test
+    void mustKeepEmailsAddedBeforeBuildCompleted() {
+        EmailBloomFilter filter = new EmailBloomFilter(userRepository, meterRegistry, true, 100, 0.01);
+        when(userRepository.findAllEmails()).thenAnswer(invocation -> {
+            filter.add("Saved@mail.ru");
+            return List.of("first@mail.ru");
+        });
+
+        filter.build();
+
+        assertTrue(filter.mightContain("saved@mail.ru"));
+        assertTrue(filter.mightContain("first@mail.ru"));
+    }
+
+    @Test
+    void mustKeepFalsePositivesRareAndRebuildWhenSaturated() {
+        when(userRepository.findAllEmails()).thenReturn(List.of());
+        EmailBloomFilter filter = new EmailBloomFilter(userRepository, meterRegistry, true, 1000, 0.01);
+        filter.build();
+
+        IntStream.range(0, 1000).forEach(i -> filter.add("user" + i + "@mail.ru"));
+        long falsePositives = IntStream.range(0, 10000)
+                .filter(i -> filter.mightContain("other" + i + "@mail.ru"))
+                .count();
+
+        assertTrue(IntStream.range(0, 1000).allMatch(i -> filter.mightContain("user" + i + "@mail.ru")));
+        assertThat(falsePositives, lessThan(300L));
+    }
+
+    @Test
+    void mustRebuildOnceInBackgroundAndKeepEmailsAddedMeanwhile() {
+        when(userRepository.findAllEmails()).thenReturn(List.of());
+        List<Runnable> rebuilds = new ArrayList<>();
+        EmailBloomFilter filter = new EmailBloomFilter(userRepository, meterRegistry, true, 100, 0.01, rebuilds::add);
+        filter.build();
+
+        IntStream.range(0, 101).forEach(i -> filter.add("user" + i + "@mail.ru"));
+        filter.add("during@mail.ru");
+
+        assertThat(rebuilds.size(), equalTo(1));
+        verify(userRepository, times(1)).findAllEmails();
+        rebuilds.get(0).run();
+        filter.add("after@mail.ru");
+
+        verify(userRepository, times(2)).findAllEmails();
+        assertTrue(filter.mightContain("during@mail.ru"));
+        assertTrue(filter.mightContain("user100@mail.ru"));
+        assertTrue(filter.mightContain("after@mail.ru"));
+    }
+
+    @Test
+    void mustAlwaysCheckWhenDisabled() {
+        EmailBloomFilter filter = new EmailBloomFilter(userRepository, meterRegistry, false, 100, 0.01);
+        filter.build();
+
+        assertTrue(filter.mightContain("any@mail.ru"));
+        verifyNoInteractions(userRepository);
+    }
+}
@@ -0,0 +1,67 @@
+package ru.practicum.shareit.user;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.exception.NotFoundException;
+import ru.practicum.shareit.user.mapper.UserMapperImpl;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserCache;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.mockito.Mockito.*;
+
+public class UserCacheTest {
+    private final Long userId = 1L;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserCache cache = new UserCache(userRepository, new UserMapperImpl(), meterRegistry,
+            100, Duration.ofMinutes(1), Duration.ofMinutes(1));
+
+    @Test
+    void mustServeRepeatedLookupsFromCache() {
+        when(userRepository.findById(userId)).thenReturn(Optional.of(createUser("name")));
+
+        cache.get(userId);
+        assertThat(cache.get(userId).name(), equalTo("name"));
+
+        verify(userRepository, times(1)).findById(userId);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "shareit.user.cache").tag("result", "hit")
+                .functionCounter().count(), equalTo(1.0));
+    }
+
+    @Test
+    void mustCacheUnknownUsers() {
+        when(userRepository.findById(userId)).thenReturn(Optional.empty());
+
+        Assertions.assertThrows(NotFoundException.class, () -> cache.get(userId));
+        Assertions.assertThrows(NotFoundException.class, () -> cache.get(userId));
+
+        verify(userRepository, times(1)).findById(userId);
+    }
+
+    @Test
+    void mustReloadUserAfterEvict() {
+        when(userRepository.findById(userId))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(createUser("name")));
+
+        Assertions.assertThrows(NotFoundException.class, () -> cache.get(userId));
+        cache.evict(userId);
+
+        assertThat(cache.get(userId).name(), equalTo("name"));
+    }
+
+    private User createUser(String name) {
+        User user = new User();
+        user.setId(userId);
+        user.setName(name);
+        user.setEmail(name + "@mail.ru");
+        return user;
+    }
+}
@@ -10,9 +10,15 @@ import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.factory.ModelFactory;
 import ru.practicum.shareit.user.controller.UserController;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserImportResult;
 import ru.practicum.shareit.user.dto.UserResponse;
+import ru.practicum.shareit.user.enums.ImportStatus;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
 import static org.hamcrest.Matchers.is;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -60,6 +66,50 @@ public class UserControllerTest {
     }
 
 
+    @Test
+    void testImportUsersFromNdjson() throws Exception {
+        when(userService.importUsers(any())).thenAnswer(invocation -> {
+            Iterator<UserDto> rows = invocation.getArgument(0);
+            List<UserImportResult> results = new ArrayList<>();
+            while (rows.hasNext()) {
+                UserDto row = rows.next();
+                results.add(new UserImportResult(results.size(), (long) results.size(), row.getEmail(),
+                        ImportStatus.CREATED, null));
+            }
+            return results;
+        });
+
+        mockMvc.perform(post("/users/import")
+                        .content("{\"name\":\"First\",\"email\":\"first@mail.ru\"}\n" +
+                                "{\"name\":\"Second\",\"email\":\"second@mail.ru\"}\n")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(2)))
+                .andExpect(jsonPath("$[1].email", is("second@mail.ru")))
+                .andExpect(jsonPath("$[1].status", is("CREATED")));
+    }
+
+    @Test
+    void testImportUsersFromJsonArray() throws Exception {
+        when(userService.importUsers(any())).thenAnswer(invocation -> {
+            Iterator<UserDto> rows = invocation.getArgument(0);
+            List<UserImportResult> results = new ArrayList<>();
+            rows.forEachRemaining(row -> results.add(new UserImportResult(results.size(), null, row.getEmail(),
+                    ImportStatus.INVALID, "error")));
+            return results;
+        });
+
+        mockMvc.perform(post("/users/import")
+                        .content(mapper.writeValueAsString(List.of(ModelFactory.createUserDto(),
+                                ModelFactory.createUserDto(), ModelFactory.createUserDto())))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()", is(3)))
+                .andExpect(jsonPath("$[2].row", is(2)));
+    }
+
     @Test
     void testDeleteUser() throws Exception {
         mockMvc.perform(delete("/users/" + userId)
@@ -14,10 +14,14 @@ import ru.practicum.shareit.exception.MailAlreadyUserException;
 import ru.practicum.shareit.exception.NotFoundException;
 import ru.practicum.shareit.factory.ModelFactory;
 import ru.practicum.shareit.user.dto.UserDto;
+import ru.practicum.shareit.user.dto.UserImportResult;
 import ru.practicum.shareit.user.dto.UserResponse;
+import ru.practicum.shareit.user.enums.ImportStatus;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
+import java.util.List;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
@@ -74,10 +78,39 @@ public class UserServiceTest {
         assertThat(count, equalTo(0));
     }
 
+    @Test
+    void testImportUsers() {
+        UserDto first = createUserDto("First", "first@import.ru");
+        List<UserDto> rows = List.of(
+                first,
+                createUserDto("Invalid", "invalid"),
+                createUserDto("Existing", userDto.getEmail().toUpperCase()),
+                createUserDto("Repeated", "FIRST@import.ru"),
+                createUserDto(" ", "blank@import.ru"),
+                createUserDto("Second", "second@import.ru")
+        );
+
+        List<UserImportResult> results = userService.importUsers(rows.iterator());
+
+        assertThat(results.stream().map(UserImportResult::status).toList(), equalTo(List.of(ImportStatus.CREATED,
+                ImportStatus.INVALID, ImportStatus.DUPLICATE, ImportStatus.DUPLICATE, ImportStatus.INVALID,
+                ImportStatus.CREATED)));
+        assertThat(results.stream().map(UserImportResult::row).toList(), equalTo(List.of(0, 1, 2, 3, 4, 5)));
+        assertThat(userService.getUser(results.get(0).id()).email(), equalTo(first.getEmail()));
+        assertThat(userService.getUser(results.get(5).id()).name(), equalTo("Second"));
+        assertThat(em.createQuery("SELECT COUNT(u) FROM User AS u WHERE u.email LIKE '%@import.ru'", Long.class)
+                .getSingleResult(), equalTo(2L));
+    }
+
     @Test
     void mustThrowExceptionTestCheckSuchUser() {
         Assertions.assertThrows(MailAlreadyUserException.class, () -> userService.createUser(userDto));
     }
 
-
-}
\ No newline at end of file
+    private UserDto createUserDto(String name, String email) {
+        UserDto request = new UserDto();
+        request.setName(name);
+        request.setEmail(email);
+        return request;
+    }
+}